@@ -1,16 +1,28 @@
 package com.example.cherrydapp.api;
 
+import com.example.cherrydapp.rpc.RpcBudgetScheduler;
 import com.example.cherrydapp.service.EvmService;
+import com.example.cherrydapp.service.T31HotSubmitter;
+import com.example.cherrydapp.service.TxStatusStore;
+import com.example.cherrydapp.snapshot.HolderSnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Map;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -18,6 +30,9 @@ import java.util.Objects;
 public class ApiController {
 
     private final EvmService evm;
+    private final RpcBudgetScheduler rpcBudget;
+    private final HolderSnapshotService holders;
+    private final T31HotSubmitter t31Hot;
 
     @Value("${web3.rpcUrl:unknown}")
     private String rpcUrl;
@@ -62,6 +77,19 @@ public class ApiController {
         return out;
     }
 
+    /** RPC 예산 스케줄러 상태: 남은 CU, 레인별 큐 길이/대기 시간/폐기 건수 */
+    @GetMapping("/health/rpc-budget")
+    public Map<String, Object> rpcBudget() {
+        var st = rpcBudget.stats();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("tokens", st.tokens());
+        out.put("burst", st.burst());
+        out.put("cuPerSecond", st.cuPerSecond());
+        out.put("throttled429", st.throttled());
+        out.put("lanes", st.lanes());
+        return out;
+    }
+
     @GetMapping({"/account", "/health/account"})
     public Map<String, Object> account() {
         return Map.of("address", evm.getFromAddress());
@@ -103,14 +131,13 @@ public class ApiController {
     }
 
     @GetMapping("/erc20/meta")
-    public Map<String, Object> erc20Meta(@RequestParam String token) throws Exception {
-        var meta = evm.erc20Meta(token);
-        return Map.of(
+    public CompletableFuture<Map<String, Object>> erc20Meta(@RequestParam String token) {
+        return evm.erc20MetaAsync(token).thenApply(meta -> Map.of(
                 "token", token,
                 "name", meta.name(),
                 "symbol", meta.symbol(),
                 "decimals", meta.decimals()
-        );
+        ));
     }
 
     /* ---- approve / deposit / withdraw ---- */
@@ -171,6 +198,44 @@ public class ApiController {
                 "wallet", targetWallet, "token", token, "amountRaw", raw.toString(), "amountHuman", amountHuman.toPlainString());
     }
 
+    /** allowance 부족 시 approve + deposit 을 연속 nonce 로 한 번에 전송하고, 두 영수증을 함께 보고 */
+    @PostMapping("/wallet/deposit/pipelined")
+    public Map<String, Object> depositPipelined(
+            @RequestParam String token,
+            @RequestParam BigDecimal amountHuman,
+            @RequestParam(required = false) String wallet,
+            @RequestParam(defaultValue = "0") long waitMillis // 기본은 해시만 즉시 반환 (상태는 /tx/{hash}), 지정 시 영수증까지 대기
+    ) throws Exception {
+        String targetWallet = (wallet == null || wallet.isBlank()) ? simpleWallet : wallet;
+        BigInteger raw = evm.toRawByToken(token, amountHuman);
+        var d = evm.depositErc20WithApprove(targetWallet, token, raw);
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("wallet", targetWallet);
+        out.put("token", token);
+        out.put("amountRaw", raw.toString());
+        out.put("amountHuman", amountHuman.toPlainString());
+        out.put("allowanceBefore", d.allowanceBefore().toString());
+        if (d.approveTxHash() != null) {
+            out.put("approveTxHash", d.approveTxHash());
+            out.put("approveExplorer", "https://sepolia.etherscan.io/tx/" + d.approveTxHash());
+        }
+        if (d.depositTxHash() != null) {
+            out.put("txHash", d.depositTxHash());
+            out.put("explorer", "https://sepolia.etherscan.io/tx/" + d.depositTxHash());
+        } else {
+            out.put("depositError", d.depositError());
+        }
+        if (waitMillis > 0) {
+            var r = evm.waitForPipelinedDeposit(d, waitMillis, 2000);
+            out.put("mined", r.deposit().isPresent());
+            out.put("success", r.isSuccessful());
+            r.approve().ifPresent(a -> out.put("approveBlock", a.getBlockNumber().toString()));
+            r.deposit().ifPresent(x -> out.put("depositBlock", x.getBlockNumber().toString()));
+        }
+        return out;
+    }
+
     @PostMapping("/wallet/withdraw")
     public Map<String, Object> withdraw(
             @RequestParam String token,
@@ -186,40 +251,107 @@ public class ApiController {
                 "wallet", targetWallet, "token", token, "amountRaw", raw.toString(), "amountHuman", amountHuman.toPlainString());
     }
 
+    /* ---- 트랜잭션 상태 ---- */
+
+    /** status/gasUsed/block/디코딩된 ERC-20·T31 효과. 확정 영수증은 로컬 저장소에서 응답 */
+    @GetMapping("/tx/{hash}")
+    public TxStatusStore.TxStatus txStatus(@PathVariable String hash) throws Exception {
+        return evm.txStatus(hash);
+    }
+
+    /* ---- Cherry 토큰 보유자 스냅샷 ---- */
+
+    /** 잔액 상위 n명 (block 미지정 시 라이브 스냅샷) */
+    @GetMapping("/cherry/holders/top")
+    public Map<String, Object> holdersTop(
+            @RequestParam(defaultValue = "100") int n,
+            @RequestParam(required = false) Long block) throws Exception {
+        return holders.query(block, snap -> {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("token", snap.token());
+            out.put("block", snap.block());
+            out.put("holderCount", snap.store().nonZeroCount());
+            out.put("underflows", snap.store().underflowCount()); // 0 이 아니면 로그 누락 의심
+            out.put("holders", snap.store().topN(n));
+            return out;
+        });
+    }
+
+    /** 잔액(raw) >= min 인 보유자 */
+    @GetMapping("/cherry/holders/above")
+    public Map<String, Object> holdersAbove(
+            @RequestParam BigInteger min,
+            @RequestParam(defaultValue = "1000") int limit,
+            @RequestParam(required = false) Long block) throws Exception {
+        return holders.query(block, snap -> {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("token", snap.token());
+            out.put("block", snap.block());
+            out.put("count", snap.store().countAtLeast(min));
+            out.put("underflows", snap.store().underflowCount()); // 0 이 아니면 로그 누락 의심
+            out.put("holders", snap.store().atLeast(min, limit));
+            return out;
+        });
+    }
+
+    /** 전체 보유자 CSV (address,balance). 파일명의 블록으로 고정해 스트리밍 */
+    @GetMapping("/cherry/holders/export")
+    public ResponseEntity<StreamingResponseBody> holdersExport(@RequestParam(required = false) Long block) throws Exception {
+        long at = holders.query(block, HolderSnapshotService.Snapshot::block);
+        StreamingResponseBody body = os -> {
+            Writer w = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+            try {
+                holders.query(at, snap -> {
+                    snap.store().exportCsv(w);
+                    return null;
+                });
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+            w.flush();
+        };
+        return ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=cherry-holders-" + at + ".csv")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
     /* ---- ThirtyOneGame ---- */
 
     @GetMapping("/t31/state")
-    public Map<String, Object> t31State(@RequestParam String contract) throws Exception {
-        var st = evm.t31State(contract);
-        return Map.of(
+    public CompletableFuture<Map<String, Object>> t31State(@RequestParam String contract) {
+        return evm.t31StateAsync(contract).thenApply(st -> Map.of(
                 "contract", contract,
                 "round", st.round().toString(),
                 "potRaw", st.pot().toString()
-        );
+        ));
     }
 
+    /** t31.hot-submit.enabled=true 이면 미리 준비한 fee/gas/nonce 로 서명만 하고 바로 전송 (hot=true) */
     @PostMapping("/t31/submit")
     public Map<String, Object> t31Submit(
             @RequestParam String contract,
             @RequestParam BigInteger guess) throws Exception {
-        String tx = evm.t31Submit(contract, guess);
-        return Map.of("contract", contract, "guess", guess.toString(), "txHash", tx, "explorer", "https://sepolia.etherscan.io/tx/" + tx);
+        var res = t31Hot.submit(contract, guess);
+        String tx = res.txHash();
+        return Map.of("contract", contract, "guess", guess.toString(), "txHash", tx, "explorer", "https://sepolia.etherscan.io/tx/" + tx, "hot", res.hot());
     }
 
-    /** T31 상세 상태 점검: round, potRaw, isOpen?, winner? 를 한 번에 */
+    /** T31 상세 상태 점검: round, potRaw, isOpen?, winner? 를 병렬로 한 번에 (실패 항목은 partial 로 표시) */
     @GetMapping("/t31/inspect")
-    public Map<String, Object> t31Inspect(@RequestParam String contract) throws Exception {
-        var round  = evm.t31CurrentRound(contract);
-        var pot    = evm.t31PotSmart(contract);
-        var open   = evm.t31IsOpenSmart(contract);
-        var winner = evm.t31WinnerSmart(contract);
-        Map<String, Object> out = new LinkedHashMap<>();
-        out.put("contract", contract);
-        out.put("round", round.toString());
-        out.put("potRaw", pot.toString());
-        if (open != null) out.put("isOpen", open);
-        if (winner != null) out.put("winner", winner);
-        return out;
+    public CompletableFuture<Map<String, Object>> t31Inspect(@RequestParam String contract) {
+        return evm.t31InspectAsync(contract).thenApply(st -> {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("contract", contract);
+            if (st.round() != null) out.put("round", st.round().toString());
+            if (st.pot() != null) out.put("potRaw", st.pot().toString());
+            if (st.isOpen() != null) out.put("isOpen", st.isOpen());
+            if (st.winner() != null) out.put("winner", st.winner());
+            if (!st.failed().isEmpty()) out.put("partial", st.failed());
+            return out;
+        });
     }
 
     /** (옵션) 다음 라운드 시작 트랜잭션 — onlyOwner 제약이 있을 수 있음 */
@@ -0,0 +1,156 @@
+package com.example.cherrydapp.api;
+
+import com.example.cherrydapp.rpc.RpcBudgetScheduler;
+import com.example.cherrydapp.rpc.RpcPriority;
+import com.example.cherrydapp.service.EvmService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 대량 조회 스트리밍 엔드포인트 (NDJSON).
+ * 요청 본문(JSON 배열 또는 NDJSON)을 batch-size 건씩 읽어 병렬 조회하고, 결과를 한 줄씩 쓰고 flush 한 뒤 다음 배치를 읽는다.
+ * 응답 쓰기가 막히면(느린 클라이언트) 다음 배치 조회도 멈추므로 메모리는 배치 크기에만 비례한다.
+ * 조회 RPC 는 BULK 레인으로 보내 대화형 요청과 전송의 예산을 잠식하지 않는다.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class BulkController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final EvmService evm;
+    private final ObjectMapper mapper;
+
+    @Value("${bulk.batch-size:50}")
+    private int batchSize;
+
+    // 한 요청 안에서 토큰별 decimals 조회 결과를 재사용할 최대 토큰 수
+    @Value("${bulk.decimals-cache-size:256}")
+    private int decimalsCacheSize;
+
+    /** 요청 키: {"address": "0x..."} */
+    public record EthKey(String address) {}
+
+    /** 요청 키: {"token": "0x...", "address": "0x..."} */
+    public record Erc20Key(String token, String address) {}
+
+    /** 요청 키: {"token": "0x...", "owner": "0x...", "spender": "0x..."} */
+    public record AllowanceKey(String token, String owner, String spender) {}
+
+    @PostMapping("/bulk/balance/eth")
+    public void ethBalances(InputStream body, HttpServletResponse resp) throws IOException {
+        stream(body, resp, EthKey.class, k -> evm.getEthBalanceWeiAsync(k.address()).thenApply(wei -> {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("address", k.address());
+            out.put("wei", wei.toString());
+            out.put("eth", new BigDecimal(wei).movePointLeft(18).toPlainString());
+            return out;
+        }));
+    }
+
+    @PostMapping("/bulk/balance/erc20")
+    public void erc20Balances(InputStream body, HttpServletResponse resp) throws IOException {
+        Map<String, CompletableFuture<Integer>> decimals = new ConcurrentHashMap<>();
+        stream(body, resp, Erc20Key.class, k -> decimals(decimals, k.token())
+                .thenCombine(evm.erc20BalanceOfAsync(k.token(), k.address()), (dec, raw) -> {
+                    Map<String, Object> out = new LinkedHashMap<>();
+                    out.put("token", k.token());
+                    out.put("address", k.address());
+                    out.put("raw", raw.toString());
+                    out.put("decimals", dec);
+                    out.put("human", evm.toHuman(raw, dec).toPlainString());
+                    return out;
+                }));
+    }
+
+    @PostMapping("/bulk/erc20/allowance")
+    public void allowances(InputStream body, HttpServletResponse resp) throws IOException {
+        Map<String, CompletableFuture<Integer>> decimals = new ConcurrentHashMap<>();
+        stream(body, resp, AllowanceKey.class, k -> decimals(decimals, k.token())
+                .thenCombine(evm.erc20AllowanceAsync(k.token(), k.owner(), k.spender()), (dec, raw) -> {
+                    Map<String, Object> out = new LinkedHashMap<>();
+                    out.put("token", k.token());
+                    out.put("owner", k.owner());
+                    out.put("spender", k.spender());
+                    out.put("raw", raw.toString());
+                    out.put("decimals", dec);
+                    out.put("human", evm.toHuman(raw, dec).toPlainString());
+                    return out;
+                }));
+    }
+
+    /* ---- 내부 헬퍼 ---- */
+
+    /** 요청 단위 decimals 캐시 — 토큰 수가 상한을 넘으면 비움 (메모리 상한 유지) */
+    private CompletableFuture<Integer> decimals(Map<String, CompletableFuture<Integer>> cache, String token) {
+        if (cache.size() >= decimalsCacheSize && !cache.containsKey(token)) cache.clear();
+        CompletableFuture<Integer> f = cache.computeIfAbsent(token, evm::erc20DecimalsAsync);
+        // 실패한 조회는 캐시하지 않음 (다음 키에서 재시도)
+        f.whenComplete((v, e) -> { if (e != null) cache.remove(token, f); });
+        return f;
+    }
+
+    private <K> void stream(InputStream body, HttpServletResponse resp, Class<K> keyType,
+                            Function<K, CompletableFuture<Map<String, Object>>> lookup) throws IOException {
+        resp.setContentType(NDJSON);
+        resp.setCharacterEncoding("UTF-8");
+        OutputStream out = resp.getOutputStream();
+        List<K> batch = new ArrayList<>(batchSize);
+        try (MappingIterator<K> it = mapper.readerFor(keyType).readValues(body)) {
+            while (it.hasNextValue()) {
+                batch.add(it.nextValue());
+                if (batch.size() >= batchSize) {
+                    writeBatch(batch, lookup, out);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) writeBatch(batch, lookup, out);
+    }
+
+    /** 배치 안의 조회는 BULK 레인으로 병렬, 결과는 입력 순서대로 한 줄씩 쓰고 flush */
+    private <K> void writeBatch(List<K> keys, Function<K, CompletableFuture<Map<String, Object>>> lookup,
+                                OutputStream out) throws IOException {
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>(keys.size());
+        for (K k : keys) {
+            CompletableFuture<Map<String, Object>> f;
+            try {
+                f = RpcBudgetScheduler.callWithPriority(RpcPriority.BULK, () -> lookup.apply(k));
+            } catch (Exception e) {
+                f = CompletableFuture.failedFuture(e);
+            }
+            futures.add(f.exceptionally(e -> errorLine(k, e)));
+        }
+        for (CompletableFuture<Map<String, Object>> f : futures) {
+            out.write(mapper.writeValueAsBytes(f.join()));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> errorLine(Object key, Throwable e) {
+        Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+        Map<String, Object> out = new LinkedHashMap<>(mapper.convertValue(key, Map.class));
+        out.put("error", cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+        return out;
+    }
+}
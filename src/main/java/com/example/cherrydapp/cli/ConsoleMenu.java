@@ -1,24 +1,42 @@
 package com.example.cherrydapp.cli;
 
+import com.example.cherrydapp.rpc.RpcBudgetScheduler;
+import com.example.cherrydapp.rpc.RpcPriority;
 import com.example.cherrydapp.service.EvmService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.web3j.crypto.Credentials;
 
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @Profile("cli")
 @RequiredArgsConstructor
 public class ConsoleMenu implements CommandLineRunner {
 
-    private final EvmService evm;
+    // EvmService(→ Web3j/RawTransactionManager)는 첫 사용 시점에 생성 (빠른 첫 프롬프트)
+    private final ObjectProvider<EvmService> evmProvider;
+    // 지갑 주소 표시는 키만 있으면 되므로 Web3j 없이 바로 사용
+    private final Credentials credentials;
     // System.in 은 애플리케이션 전체에서 공유되므로 절대 close 하지 말 것
     private final Scanner in = new Scanner(System.in);
 
+    // 체인ID/클라이언트 버전 조회는 백그라운드에서 수행, 결과는 다음 메뉴 출력 시 표시
+    private CompletableFuture<String> networkProbe;
+    private boolean networkReported;
+    private boolean startupReported;
+
+    private EvmService evm() {
+        return evmProvider.getObject();
+    }
+
     private String ask(String prompt) {
         System.out.print(prompt);
         if (!in.hasNextLine()) {
@@ -32,12 +50,17 @@ public class ConsoleMenu implements CommandLineRunner {
     @Override
     public void run(String... args) throws Exception {
         System.out.println("=== CherryDapp CLI ===");
-        System.out.println("지갑: " + evm.getFromAddress());
-        System.out.println("체인ID(hex): " + evm.getChainIdHex());
+        System.out.println("지갑: " + credentials.getAddress());
         System.out.println();
+        networkProbe = startNetworkProbe();
 
         while (true) {
             printMenu();
+            if (!startupReported) {
+                startupReported = true;
+                // JVM 기동 시점부터 첫 프롬프트까지 걸린 시간 (AppCDS/lazy 설정 효과 측정용)
+                System.out.println("(첫 프롬프트까지 " + ManagementFactory.getRuntimeMXBean().getUptime() + "ms)");
+            }
             String sel = ask("번호 선택 > ");
             try {
                 switch (sel) {
@@ -55,7 +78,34 @@ public class ConsoleMenu implements CommandLineRunner {
         }
     }
 
+    /** 데몬 스레드에서 Web3j 생성 + chainId/clientVersion 조회 (메뉴 표시를 막지 않음) */
+    private CompletableFuture<String> startNetworkProbe() {
+        CompletableFuture<String> probe = new CompletableFuture<>();
+        Thread t = new Thread(() -> RpcBudgetScheduler.runWithPriority(RpcPriority.BACKGROUND, () -> {
+            try {
+                EvmService evm = evm();
+                probe.complete("체인ID(hex): " + evm.getChainIdHex() + ", client=" + evm.getClientVersion());
+            } catch (Exception e) {
+                probe.complete("체인ID(hex): 0x0 (네트워크 조회 실패: " + e.getMessage() + ")");
+            }
+        }), "cli-network-probe");
+        t.setDaemon(true);
+        t.start();
+        return probe;
+    }
+
+    private void printNetworkStatus() {
+        if (networkReported || networkProbe == null) return;
+        if (networkProbe.isDone()) {
+            System.out.println(networkProbe.join());
+            networkReported = true;
+        } else {
+            System.out.println("체인ID(hex): 조회 중...");
+        }
+    }
+
     private void printMenu() {
+        printNetworkStatus();
         System.out.println("--------------------------------");
         System.out.println("1) ThirtyOneGame 상태 조회 (round, pot)");
         System.out.println("2) ThirtyOneGame submit (guess)");
@@ -68,8 +118,8 @@ public class ConsoleMenu implements CommandLineRunner {
     private void actionT31State() {
         String c = ask("T31 컨트랙트 주소: ");
         try {
-            BigInteger round = evm.t31CurrentRound(c);
-            BigInteger pot   = evm.t31PotSmart(c); // ← 안전한 버전으로 변경
+            BigInteger round = evm().t31CurrentRound(c);
+            BigInteger pot   = evm().t31PotSmart(c); // ← 안전한 버전으로 변경
             System.out.println("round=" + round + ", potRaw=" + pot);
         } catch (Exception e) {
             System.out.println("[에러] 조회 실패: " + e.getMessage());
@@ -81,22 +131,22 @@ public class ConsoleMenu implements CommandLineRunner {
         String c = ask("T31 컨트랙트 주소: ");
         String g = ask("guess(정수): ");
         BigInteger guess = new BigInteger(g);
-        String tx = evm.t31Submit(c, guess);
+        String tx = evm().t31Submit(c, guess);
         System.out.println("txHash=" + tx);
     }
 
     private void actionErc20Balance() throws Exception {
         String token = ask("토큰 주소(token): ");
         String addr  = ask("조회할 계정 주소(address): ");
-        int dec = evm.erc20Decimals(token);
-        BigInteger raw = evm.erc20BalanceOf(token, addr);
-        BigDecimal human = evm.toHuman(raw, dec);
+        int dec = evm().erc20Decimals(token);
+        BigInteger raw = evm().erc20BalanceOf(token, addr);
+        BigDecimal human = evm().toHuman(raw, dec);
         System.out.println("balance raw=" + raw + ", human=" + human + " (decimals=" + dec + ")");
     }
 
     private void actionEthBalance() throws Exception {
         String addr = ask("조회할 계정 주소(address): ");
-        BigInteger wei = evm.getEthBalanceWei(addr);
+        BigInteger wei = evm().getEthBalanceWei(addr);
         BigDecimal eth = new BigDecimal(wei).movePointLeft(18);
         System.out.println("ETH=" + eth.toPlainString() + " (" + wei + " wei)");
     }
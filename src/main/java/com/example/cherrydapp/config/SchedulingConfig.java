@@ -0,0 +1,15 @@
+package com.example.cherrydapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 백그라운드 주기 작업(영수증 스윕, 워치독, hot submit 준비, 홀더 스냅샷 추적)은 서버 모드에서만 켠다.
+ * cli 프로필에서 스케줄러(non-daemon 스레드)가 뜨면 메뉴 종료 후에도 JVM 이 내려가지 않음 (cliCdsArchive 포함).
+ */
+@Configuration
+@EnableScheduling
+@Profile("!cli")
+public class SchedulingConfig {
+}
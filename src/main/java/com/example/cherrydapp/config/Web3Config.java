@@ -1,13 +1,20 @@
 package com.example.cherrydapp.config;
 
+import com.example.cherrydapp.rpc.BudgetedHttpService;
+import com.example.cherrydapp.rpc.RpcBudgetScheduler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
-import org.web3j.protocol.http.HttpService;
 import org.web3j.tx.RawTransactionManager;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 
 @Configuration
 public class Web3Config {
@@ -22,9 +29,64 @@ public class Web3Config {
     @Value("${web3.chain-id:11155111}")
     private long chainId;
 
+    // 프로바이더 CU(compute unit) 예산: 초당 충전량 / 최대 버스트
+    @Value("${web3.rpc-budget.cu-per-second:300}")
+    private double cuPerSecond;
+
+    @Value("${web3.rpc-budget.burst:600}")
+    private double burst;
+
+    // BACKGROUND/BULK 레인이 건드리지 못하는 버킷 비율 (WRITE/INTERACTIVE 몫)
+    @Value("${web3.rpc-budget.background-reserve:0.25}")
+    private double backgroundReserve;
+
+    @Value("${web3.rpc-budget.background-queue-limit:32}")
+    private int backgroundQueueLimit;
+
+    @Value("${web3.rpc-budget.max-wait-ms.write:30000}")
+    private long writeMaxWaitMs;
+
+    @Value("${web3.rpc-budget.max-wait-ms.interactive:10000}")
+    private long interactiveMaxWaitMs;
+
+    @Value("${web3.rpc-budget.max-wait-ms.background:3000}")
+    private long backgroundMaxWaitMs;
+
+    // 대량 조회 한 건의 예산 대기 한도 (evm.async.call-timeout-ms 보다 짧게 두어 풀 스레드를 오래 잡지 않게)
+    @Value("${web3.rpc-budget.max-wait-ms.bulk:4000}")
+    private long bulkMaxWaitMs;
+
+    // EvmService 비동기 조회용 풀: 스레드 수 = 동시에 진행 중인 조회 RPC 상한, 대기열 상한
+    @Value("${evm.async.threads:8}")
+    private int asyncThreads;
+
+    @Value("${evm.async.queue-capacity:256}")
+    private int asyncQueueCapacity;
+
+    @Bean
+    public RpcBudgetScheduler rpcBudgetScheduler() {
+        return new RpcBudgetScheduler(cuPerSecond, burst, backgroundReserve, backgroundQueueLimit,
+                writeMaxWaitMs, interactiveMaxWaitMs, backgroundMaxWaitMs, bulkMaxWaitMs);
+    }
+
     @Bean
-    public Web3j web3j() {
-        return Web3j.build(new HttpService(rpcUrl));
+    public Web3j web3j(RpcBudgetScheduler rpcBudgetScheduler) {
+        // 모든 RPC 는 우선순위 레인별 토큰 버킷을 거쳐 전송 (429 방지)
+        return Web3j.build(new BudgetedHttpService(rpcUrl, rpcBudgetScheduler));
+    }
+
+    /** 대기열이 가득 차면 RejectedExecutionException 으로 해당 future 를 실패시킴 (무한 적체 방지) */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService evmReadExecutor() {
+        AtomicInteger seq = new AtomicInteger();
+        return new ThreadPoolExecutor(asyncThreads, asyncThreads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(asyncQueueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "evm-read-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
     }
 
     @Bean
@@ -0,0 +1,53 @@
+package com.example.cherrydapp.rpc;
+
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.http.HttpService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 모든 JSON-RPC 요청을 {@link RpcBudgetScheduler} 를 거쳐 내보내는 HttpService.
+ * 배치 요청은 포함된 메서드 비용의 합으로 계산한다.
+ */
+public class BudgetedHttpService extends HttpService {
+
+    private static final String METHOD_KEY = "\"method\":\"";
+
+    private final RpcBudgetScheduler scheduler;
+
+    public BudgetedHttpService(String url, RpcBudgetScheduler scheduler) {
+        super(url);
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    protected InputStream performIO(String request) throws IOException {
+        int cost = 0;
+        boolean write = false;
+        // Jackson 직렬화 결과에서 "method":"..." 만 훑어봄 (전체 JSON 파싱 불필요)
+        for (int i = request.indexOf(METHOD_KEY); i >= 0; i = request.indexOf(METHOD_KEY, i)) {
+            int start = i + METHOD_KEY.length();
+            int end = request.indexOf('"', start);
+            if (end < 0) break;
+            String method = request.substring(start, end);
+            cost += RpcBudgetScheduler.costOf(method);
+            write |= RpcBudgetScheduler.isWriteMethod(method);
+            i = end;
+        }
+        // 전송/영수증은 WRITE 로 올리되, 명시적으로 BACKGROUND 인 폴링(영수증 스윕 등)은 그대로 둠
+        RpcPriority current = RpcBudgetScheduler.currentPriority();
+        RpcPriority priority = (write && current != RpcPriority.BACKGROUND) ? RpcPriority.WRITE : current;
+
+        scheduler.acquire(priority, cost);
+        try {
+            return super.performIO(request);
+        } catch (ClientConnectionException e) {
+            // HttpService: "Invalid response received: 429; ..."
+            if (e.getMessage() != null && e.getMessage().contains("received: 429")) {
+                scheduler.onThrottled();
+            }
+            throw e;
+        }
+    }
+}
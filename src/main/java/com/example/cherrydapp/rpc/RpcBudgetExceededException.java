@@ -0,0 +1,21 @@
+package com.example.cherrydapp.rpc;
+
+import java.io.IOException;
+
+/**
+ * 클라이언트 측 RPC 예산(토큰 버킷) 부족으로 요청이 폐기/거절된 경우.
+ * Web3j 전송 계층에서 던져지므로 IOException 으로 전파된다.
+ */
+public class RpcBudgetExceededException extends IOException {
+
+    private final RpcPriority priority;
+
+    public RpcBudgetExceededException(RpcPriority priority, String message) {
+        super(message);
+        this.priority = priority;
+    }
+
+    public RpcPriority getPriority() {
+        return priority;
+    }
+}
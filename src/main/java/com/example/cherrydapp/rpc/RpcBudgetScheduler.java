@@ -0,0 +1,230 @@
+package com.example.cherrydapp.rpc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 프로바이더의 compute unit(CU) 과금/레이트리밋에 맞춘 클라이언트 측 토큰 버킷 스케줄러.
+ *
+ * <ul>
+ *   <li>메서드별 CU 가중치만큼 토큰을 소비 (초당 {@code cuPerSecond} 충전, 최대 {@code burst})</li>
+ *   <li>레인 우선순위: WRITE → INTERACTIVE → BACKGROUND → BULK. 상위 레인에 대기자가 있으면 하위 레인은 진행하지 않음</li>
+ *   <li>BACKGROUND/BULK 는 버킷의 {@code backgroundReserve} 비율을 상위 레인 몫으로 남겨둠</li>
+ *   <li>BACKGROUND 는 큐가 가득 차거나 대기 한도를 넘기면 즉시 폐기(shed),
+ *       BULK 는 큐 제한 없이 (요청 수는 배치 크기로 제한됨) 자체 대기 한도까지 대기</li>
+ * </ul>
+ */
+public class RpcBudgetScheduler {
+
+    /** 메서드별 CU 가중치 (Alchemy 기준 근사값), 목록에 없으면 {@link #DEFAULT_COST} */
+    private static final Map<String, Integer> METHOD_COSTS = Map.ofEntries(
+            Map.entry("eth_chainId", 0),
+            Map.entry("net_version", 0),
+            Map.entry("web3_clientVersion", 0),
+            Map.entry("eth_blockNumber", 10),
+            Map.entry("eth_getTransactionReceipt", 15),
+            Map.entry("eth_getTransactionByHash", 17),
+            Map.entry("eth_getBalance", 19),
+            Map.entry("eth_gasPrice", 19),
+            Map.entry("eth_maxPriorityFeePerGas", 10),
+            Map.entry("eth_getBlockByNumber", 16),
+            Map.entry("eth_getTransactionCount", 26),
+            Map.entry("eth_call", 26),
+            Map.entry("eth_getLogs", 75),
+            Map.entry("eth_estimateGas", 87),
+            Map.entry("eth_sendRawTransaction", 250)
+    );
+    private static final int DEFAULT_COST = 20;
+
+    private static final ThreadLocal<RpcPriority> CURRENT = new ThreadLocal<>();
+
+    private final double cuPerSecond;
+    private final double burst;
+    private final double backgroundReserve;
+    private final int backgroundQueueLimit;
+    private final long[] maxWaitNanos = new long[RpcPriority.values().length];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final List<Deque<Object>> lanes = new ArrayList<>();
+    private final long[] granted = new long[RpcPriority.values().length];
+    private final long[] shed = new long[RpcPriority.values().length];
+    private final long[] totalWaitNanos = new long[RpcPriority.values().length];
+    private final long[] peakWaitNanos = new long[RpcPriority.values().length];
+    private double tokens;
+    private long lastRefillNanos;
+    private long throttled;
+
+    public RpcBudgetScheduler(double cuPerSecond, double burst, double backgroundReserve, int backgroundQueueLimit,
+                              long writeMaxWaitMillis, long interactiveMaxWaitMillis, long backgroundMaxWaitMillis,
+                              long bulkMaxWaitMillis) {
+        if (cuPerSecond <= 0 || burst <= 0) throw new IllegalArgumentException("cuPerSecond/burst must be positive");
+        this.cuPerSecond = cuPerSecond;
+        this.burst = burst;
+        this.backgroundReserve = Math.max(0, Math.min(1, backgroundReserve));
+        this.backgroundQueueLimit = backgroundQueueLimit;
+        this.maxWaitNanos[RpcPriority.WRITE.ordinal()] = TimeUnit.MILLISECONDS.toNanos(writeMaxWaitMillis);
+        this.maxWaitNanos[RpcPriority.INTERACTIVE.ordinal()] = TimeUnit.MILLISECONDS.toNanos(interactiveMaxWaitMillis);
+        this.maxWaitNanos[RpcPriority.BACKGROUND.ordinal()] = TimeUnit.MILLISECONDS.toNanos(backgroundMaxWaitMillis);
+        this.maxWaitNanos[RpcPriority.BULK.ordinal()] = TimeUnit.MILLISECONDS.toNanos(bulkMaxWaitMillis);
+        for (int i = 0; i < RpcPriority.values().length; i++) lanes.add(new ArrayDeque<>());
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /* -------------------- 우선순위 컨텍스트 -------------------- */
+
+    /** 현재 스레드에서 발생하는 RPC 의 레인 (지정이 없으면 INTERACTIVE) */
+    public static RpcPriority currentPriority() {
+        RpcPriority p = CURRENT.get();
+        return p != null ? p : RpcPriority.INTERACTIVE;
+    }
+
+    /** body 안에서 발생하는 RPC 를 지정한 레인으로 보냄 (중첩 시 바깥 값 복원) */
+    public static <T> T callWithPriority(RpcPriority priority, Callable<T> body) throws Exception {
+        RpcPriority prev = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return body.call();
+        } finally {
+            if (prev == null) CURRENT.remove(); else CURRENT.set(prev);
+        }
+    }
+
+    public static void runWithPriority(RpcPriority priority, Runnable body) {
+        RpcPriority prev = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            body.run();
+        } finally {
+            if (prev == null) CURRENT.remove(); else CURRENT.set(prev);
+        }
+    }
+
+    public static int costOf(String method) {
+        return METHOD_COSTS.getOrDefault(method, DEFAULT_COST);
+    }
+
+    /** 전송/영수증 메서드: BACKGROUND 컨텍스트가 아니면 WRITE 레인으로 승격 */
+    public static boolean isWriteMethod(String method) {
+        return "eth_sendRawTransaction".equals(method)
+                || "eth_sendTransaction".equals(method)
+                || "eth_getTransactionReceipt".equals(method);
+    }
+
+    /* -------------------- 토큰 획득 -------------------- */
+
+    /**
+     * cost 만큼의 예산을 확보할 때까지 대기. 레인별 대기 한도를 넘기거나
+     * BACKGROUND 큐가 가득 차면 {@link RpcBudgetExceededException}.
+     */
+    public void acquire(RpcPriority priority, int cost) throws IOException {
+        int lane = priority.ordinal();
+        double need = Math.min(cost, burst); // burst 보다 큰 요청이 영원히 막히지 않도록
+        double floor = (priority.compareTo(RpcPriority.BACKGROUND) >= 0) ? burst * backgroundReserve : 0;
+        Object ticket = new Object();
+
+        lock.lock();
+        try {
+            Deque<Object> queue = lanes.get(lane);
+            if (priority == RpcPriority.BACKGROUND && queue.size() >= backgroundQueueLimit) {
+                shed[lane]++;
+                throw new RpcBudgetExceededException(priority,
+                        "RPC budget: background queue full (" + backgroundQueueLimit + "), request shed");
+            }
+            queue.addLast(ticket);
+            long start = System.nanoTime();
+            long deadline = start + maxWaitNanos[lane];
+            try {
+                while (true) {
+                    refill();
+                    if (isTurn(lane, ticket) && tokens - need >= floor) {
+                        tokens -= need;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        shed[lane]++;
+                        throw new RpcBudgetExceededException(priority,
+                                "RPC budget: " + priority + " request waited over "
+                                        + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos[lane]) + "ms");
+                    }
+                    double deficit = Math.max(need + floor - tokens, 0);
+                    long refillNanos = (long) (deficit / cuPerSecond * 1_000_000_000L);
+                    changed.awaitNanos(Math.min(remaining, Math.max(refillNanos, TimeUnit.MILLISECONDS.toNanos(1))));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for RPC budget");
+            } finally {
+                queue.remove(ticket);
+                changed.signalAll();
+            }
+            long waited = System.nanoTime() - start;
+            granted[lane]++;
+            totalWaitNanos[lane] += waited;
+            peakWaitNanos[lane] = Math.max(peakWaitNanos[lane], waited);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 프로바이더가 429 를 돌려주면 버킷을 비워 충전 속도만큼만 재시도되게 함 */
+    public void onThrottled() {
+        lock.lock();
+        try {
+            refill();
+            tokens = Math.min(tokens, 0);
+            throttled++;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isTurn(int lane, Object ticket) {
+        for (int i = 0; i < lane; i++) {
+            if (!lanes.get(i).isEmpty()) return false;
+        }
+        return lanes.get(lane).peekFirst() == ticket;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double add = (now - lastRefillNanos) / 1_000_000_000.0 * cuPerSecond;
+        tokens = Math.min(burst, tokens + add);
+        lastRefillNanos = now;
+    }
+
+    /* -------------------- 관측 -------------------- */
+
+    /** 레인별 현재 큐 길이, 처리/폐기 건수, 평균/최대 대기 시간 */
+    public record LaneStats(RpcPriority lane, int queued, long granted, long shed, double avgWaitMs, double maxWaitMs) {}
+
+    public record Stats(double tokens, double burst, double cuPerSecond, long throttled, List<LaneStats> lanes) {}
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            refill();
+            List<LaneStats> out = new ArrayList<>();
+            for (RpcPriority p : RpcPriority.values()) {
+                int i = p.ordinal();
+                double avg = granted[i] == 0 ? 0 : totalWaitNanos[i] / (double) granted[i] / 1_000_000.0;
+                out.add(new LaneStats(p, lanes.get(i).size(), granted[i], shed[i], avg, peakWaitNanos[i] / 1_000_000.0));
+            }
+            return new Stats(tokens, burst, cuPerSecond, throttled, out);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.cherrydapp.rpc;
+
+/**
+ * RPC 예산 스케줄러의 우선순위 레인. 선언 순서가 곧 우선순위 (앞쪽이 먼저 처리).
+ */
+public enum RpcPriority {
+    /** 트랜잭션 전송 및 영수증 조회 (sendRawTransaction, getTransactionReceipt, 전송 준비 호출) */
+    WRITE,
+    /** REST/CLI 요청에서 바로 발생하는 읽기 (기본값) */
+    INTERACTIVE,
+    /** 폴링/프로브 등 백그라운드 작업 — 예산이 부족하면 대기, 큐가 차면 폐기 */
+    BACKGROUND,
+    /** /bulk/* 대량 조회 — 모든 레인에 양보하고 예약분도 쓰지 않음 (폐기 대신 자체 대기 한도까지 대기) */
+    BULK
+}
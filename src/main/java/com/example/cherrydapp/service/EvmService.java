@@ -1,5 +1,7 @@
 package com.example.cherrydapp.service;
 
+import com.example.cherrydapp.rpc.RpcBudgetScheduler;
+import com.example.cherrydapp.rpc.RpcPriority;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.web3j.abi.FunctionEncoder;
@@ -12,17 +14,29 @@ import org.web3j.crypto.Credentials;
 import org.web3j.crypto.RawTransaction;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.*;
 import org.web3j.tx.RawTransactionManager;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import java.util.Optional;
 import java.time.Duration;
 import java.time.Instant;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -31,11 +45,32 @@ public class EvmService {
     private final Web3j web3j;
     private final RawTransactionManager txManager;
     private final Credentials credentials;
+    private final TxStatusStore txStore;
+    private final TxWatchdog txWatchdog;
+    // 비동기 조회의 RPC 전송/디코딩 전용 bounded 풀 (Web3Config#evmReadExecutor)
+    private final ExecutorService evmReadExecutor;
 
     // RPC URL 표기를 위해 application.yml 에 web3.rpcUrl 을 주입 (없으면 unknown), Sepolia 사용
     @Value("${web3.rpcUrl:unknown}")
     private String rpcUrl;
 
+    // approve 가 아직 채굴 전이면 depositErc20 은 estimateGas 가 리버트되므로 고정 가스 한도 사용
+    @Value("${simple.wallet.deposit-gas-limit:200000}")
+    private long pipelinedDepositGasLimit;
+
+    // 비동기 조회 1건당 타임아웃 (초과 시 해당 항목만 실패/부분 결과 처리)
+    @Value("${evm.async.call-timeout-ms:5000}")
+    private long asyncCallTimeoutMs;
+
+    // 전송 직후 노드(로드밸런싱된 프로바이더 등)의 pending nonce 가 아직 그 전송을 반영하지 못할 수 있는 시간
+    @Value("${evm.nonce-lag-grace-ms:15000}")
+    private long nonceLagGraceMs;
+
+    // nonce 조회 ~ 전송 구간 직렬화 (연속 nonce 를 쓰는 파이프라인 입금과 충돌 방지)
+    private final Object sendLock = new Object();
+    private BigInteger lastSentNonce; // sendLock 으로 보호
+    private long lastSentAtMillis;    // sendLock 으로 보호
+
     /* -------------------- 네트워크/기본 조회 -------------------- */
 
     /**
@@ -68,16 +103,14 @@ public class EvmService {
     /** ERC-20 메타데이터(name/symbol/decimals) 패키징용 레코드 */
     public record Erc20Meta(String name, String symbol, int decimals) {}
 
-    /** T31 상태를 한 번에 조회 */
+    /** T31 상태를 한 번에 조회 (round/pot 병렬) */
     public T31State t31State(String contract) throws Exception {
-        BigInteger round = t31CurrentRound(contract);
-        BigInteger pot   = t31PotSmart(contract);
-        return new T31State(round, pot);
+        return await(t31StateAsync(contract));
     }
 
-    /** ERC-20 메타데이터를 한 번에 조회 */
+    /** ERC-20 메타데이터를 한 번에 조회 (name/symbol/decimals 병렬) */
     public Erc20Meta erc20Meta(String token) throws Exception {
-        return new Erc20Meta(erc20Name(token), erc20Symbol(token), erc20Decimals(token));
+        return await(erc20MetaAsync(token));
     }
 
     /** 토큰 주소를 기반으로 사람이 읽는 단위를 raw로 변환 (decimals 자동 조회) */
@@ -201,18 +234,164 @@ public class EvmService {
         return sendFunctionTx(simpleWallet, f);
     }
 
+    /**
+     * approve + depositErc20 파이프라인 전송 결과 (approve 가 필요 없었으면 approveTxHash == null).
+     * approve 는 나갔는데 deposit 전송이 거절되면 depositTxHash == null, depositError 에 사유.
+     */
+    public record PipelinedDeposit(String approveTxHash, String depositTxHash, BigInteger allowanceBefore, String depositError) {}
+
+    /** 두 트랜잭션의 영수증을 함께 보고 (미채굴이면 Optional.empty) */
+    public record PipelinedDepositReceipts(Optional<TransactionReceipt> approve, Optional<TransactionReceipt> deposit) {
+        public boolean isSuccessful() {
+            return deposit.map(TransactionReceipt::isStatusOK).orElse(false)
+                    && approve.map(TransactionReceipt::isStatusOK).orElse(true);
+        }
+    }
+
+    /**
+     * allowance 가 부족하면 approve(nonce n) 와 depositErc20(nonce n+1) 을 미리 서명해 연달아 브로드캐스트.
+     * approve 영수증을 기다리지 않으므로 두 트랜잭션이 같은 블록에 포함될 수 있다.
+     */
+    public PipelinedDeposit depositErc20WithApprove(String simpleWallet, String token, BigInteger rawAmount) throws Exception {
+        BigInteger allowance = erc20Allowance(token, credentials.getAddress(), simpleWallet);
+        if (allowance.compareTo(rawAmount) >= 0) {
+            return new PipelinedDeposit(null, depositErc20(simpleWallet, token, rawAmount), allowance, null);
+        }
+
+        String approveData = FunctionEncoder.encode(new Function("approve",
+                List.of(new Address(simpleWallet), new Uint256(rawAmount)),
+                List.of(new TypeReference<Bool>() {})));
+        String depositData = FunctionEncoder.encode(new Function("depositErc20",
+                List.of(new Address(token), new Uint256(rawAmount)),
+                List.of()));
+
+        return RpcBudgetScheduler.callWithPriority(RpcPriority.WRITE, () -> {
+            BigInteger approveGas = estimateGas(credentials.getAddress(), token, approveData);
+            BigInteger depositGas = BigInteger.valueOf(pipelinedDepositGasLimit);
+            BigInteger gasPrice = web3j.ethGasPrice().send().getGasPrice();
+
+            synchronized (sendLock) {
+                BigInteger nonce = nextNonce(pendingNonce(), System.currentTimeMillis());
+                TxWatchdog.SignedTx signedApprove = signTx(token, approveData, nonce, gasPrice, approveGas);
+                TxWatchdog.SignedTx signedDeposit = signTx(simpleWallet, depositData, nonce.add(BigInteger.ONE), gasPrice, depositGas);
+                String approveTx = broadcast(signedApprove, "approve(" + simpleWallet + "," + rawAmount + ")");
+                try {
+                    String depositTx = broadcast(signedDeposit, "depositErc20(" + token + "," + rawAmount + ")");
+                    return new PipelinedDeposit(approveTx, depositTx, allowance, null);
+                } catch (Exception e) {
+                    // approve 는 이미 브로드캐스트됨: 예외로 던지면 그 해시를 잃으므로 부분 결과로 보고
+                    return new PipelinedDeposit(approveTx, null, allowance,
+                            e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                }
+            }
+        });
+    }
+
+    /**
+     * deposit(n+1) 영수증이 나오면 approve(n) 도 이미 채굴된 상태이므로 deposit 쪽만 폴링하고 approve 는 한 번만 조회.
+     * deposit 전송이 실패했으면 approve 만 폴링.
+     */
+    public PipelinedDepositReceipts waitForPipelinedDeposit(PipelinedDeposit d, long timeoutMillis, long pollMillis) throws Exception {
+        if (d.depositTxHash() == null) {
+            Optional<TransactionReceipt> approve = (d.approveTxHash() != null)
+                    ? waitForReceipt(d.approveTxHash(), timeoutMillis, pollMillis) : Optional.empty();
+            return new PipelinedDepositReceipts(approve, Optional.empty());
+        }
+        Optional<TransactionReceipt> deposit = waitForReceipt(d.depositTxHash(), timeoutMillis, pollMillis);
+        Optional<TransactionReceipt> approve = (d.approveTxHash() != null) ? receiptOf(d.approveTxHash()) : Optional.empty();
+        return new PipelinedDepositReceipts(approve, deposit);
+    }
+
+    /** 워치독이 수수료를 올려 교체 전송했으면 교체 해시들까지 확인해 최종 채굴 영수증을 반환 */
     public Optional<TransactionReceipt> waitForReceipt(String txHash, long timeoutMillis, long pollMillis) throws Exception {
         Instant end = Instant.now().plus(Duration.ofMillis(timeoutMillis));
         while (Instant.now().isBefore(end)) {
-            EthGetTransactionReceipt r = web3j.ethGetTransactionReceipt(txHash).send();
-            if (r.getTransactionReceipt().isPresent()) {
-                return r.getTransactionReceipt();
-            }
+            Optional<TransactionReceipt> r = receiptOf(txHash);
+            if (r.isPresent()) return r;
             Thread.sleep(pollMillis);
         }
         return Optional.empty();
     }
 
+    /** 원본/교체 해시를 한 번씩 조회해 채굴된 영수증을 기록하고 반환 (없으면 empty) */
+    private Optional<TransactionReceipt> receiptOf(String txHash) throws Exception {
+        for (String h : txWatchdog.hashesOf(txHash)) {
+            Optional<TransactionReceipt> r = web3j.ethGetTransactionReceipt(h).send().getTransactionReceipt();
+            if (r.isPresent()) {
+                txStore.recordReceipt(r.get());
+                return r;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /* -------------------- 트랜잭션 상태 (/tx/{hash}) -------------------- */
+
+    /**
+     * 1) 확정 저장소(핫 티어 → 파일) 2) 직접 보낸/영수증 받은 트랜잭션 추적 3) 노드 조회 순서.
+     * 확정 저장소와 미채굴 추적분은 RPC 없이 응답한다.
+     */
+    public TxStatusStore.TxStatus txStatus(String requestedHash) throws Exception {
+        // 교체 전송분이 채굴되었으면 그 해시로 응답
+        String txHash = txWatchdog.resolve(requestedHash);
+        TxStatusStore.TxStatus fin = txStore.findFinal(txHash);
+        if (fin != null) return fin;
+
+        TxStatusStore.Tracked t = txStore.tracked(txHash);
+        if (t != null && t.receipt == null) return txStore.fromTracking(t);
+
+        TransactionReceipt receipt = (t != null) ? t.receipt
+                : web3j.ethGetTransactionReceipt(txHash).send().getTransactionReceipt().orElse(null);
+        if (receipt == null) {
+            var tx = web3j.ethGetTransactionByHash(txHash).send().getTransaction();
+            return new TxStatusStore.TxStatus(txHash, tx.isPresent() ? "pending" : "notFound",
+                    null, null, List.of(), null, "node");
+        }
+        String label = (t != null) ? t.label : null;
+        if (txStore.isDeep(receipt, getBlockNumber())) {
+            if (finalizeIfCanonical(receipt, label)) return txStore.findFinal(txHash);
+            // 영수증의 블록이 reorg 로 바뀜: 다시 채굴될 때까지 pending (다음 스윕이 새 영수증을 받음)
+            return new TxStatusStore.TxStatus(txHash, "pending", null, null, List.of(), label, "node");
+        }
+        return txStore.toStatus(receipt, label, t != null ? "tracking" : "node");
+    }
+
+    /**
+     * 영수증의 블록 해시가 여전히 그 높이의 정규 블록이면 확정 저장소에 기록.
+     * 아니면(reorg) 캐시된 영수증을 버리고 해시는 계속 추적.
+     */
+    private boolean finalizeIfCanonical(TransactionReceipt receipt, String label) throws Exception {
+        EthBlock.Block block = web3j.ethGetBlockByNumber(
+                new DefaultBlockParameterNumber(receipt.getBlockNumber()), false).send().getBlock();
+        if (block == null || block.getHash() == null || !block.getHash().equalsIgnoreCase(receipt.getBlockHash())) {
+            txStore.discardReceipt(receipt.getTransactionHash());
+            return false;
+        }
+        txStore.persistFinal(receipt, label);
+        return true;
+    }
+
+    /** 추적 중인 트랜잭션의 영수증 수집/확정 처리 (BACKGROUND 레인, 추적분이 없으면 RPC 없음) */
+    @Scheduled(fixedDelayString = "${tx.store.sweep-ms:12000}")
+    public void sweepTrackedTxs() {
+        // 끝내 채굴되지 않는 해시가 매 주기 영수증 조회를 계속 쓰지 않도록 먼저 만료
+        txStore.expirePending(System.currentTimeMillis());
+        if (txStore.trackedAll().isEmpty()) return;
+        RpcBudgetScheduler.runWithPriority(RpcPriority.BACKGROUND, () -> {
+            BigInteger latest = getBlockNumber();
+            for (TxStatusStore.Tracked t : txStore.trackedAll()) {
+                try {
+                    if (t.receipt == null) {
+                        web3j.ethGetTransactionReceipt(t.hash).send().getTransactionReceipt()
+                                .ifPresent(txStore::recordReceipt);
+                    }
+                    TransactionReceipt r = t.receipt;
+                    if (r != null && txStore.isDeep(r, latest)) finalizeIfCanonical(r, t.label);
+                } catch (Exception ignore) { /* 다음 주기에 재시도 */ }
+            }
+        });
+    }
+
     public boolean isMinedAndSuccessful(String txHash, long timeoutMillis, long pollMillis) throws Exception {
         Optional<TransactionReceipt> opt = waitForReceipt(txHash, timeoutMillis, pollMillis);
         if (opt.isEmpty()) return false;
@@ -236,12 +415,41 @@ public class EvmService {
      * submit(uint256 guess) 를 가정하고 트랜잭션 전송
      */
     public String t31Submit(String contract, BigInteger guess) throws Exception {
-        Function f = new Function(
+        return sendFunctionTx(contract, t31SubmitFunction(guess));
+    }
+
+    /**
+     * hot submit: 미리 준비한 gasPrice/gasLimit/nonce 힌트로 인코딩·서명 후 sendRawTransaction 한 번만 호출.
+     * nonce 힌트는 nonceObservedAtMillis 에 관측한 pending nonce (직전 전송을 아직 반영 못 했으면 보정).
+     */
+    public String t31SubmitPrepared(String contract, BigInteger guess, BigInteger gasPrice, BigInteger gasLimit,
+                                    BigInteger nonceHint, long nonceObservedAtMillis) throws Exception {
+        Function f = t31SubmitFunction(guess);
+        String data = FunctionEncoder.encode(f);
+        return RpcBudgetScheduler.callWithPriority(RpcPriority.WRITE, () -> {
+            synchronized (sendLock) {
+                BigInteger nonce = nextNonce(nonceHint, nonceObservedAtMillis);
+                return broadcast(signTx(contract, data, nonce, gasPrice, gasLimit), describe(f));
+            }
+        });
+    }
+
+    /** hot submit 준비용 submit(guess) 가스 한도 추정 (guess 값은 가스에 영향이 거의 없음) */
+    public BigInteger estimateT31SubmitGas(String contract) throws Exception {
+        return estimateGas(credentials.getAddress(), contract, FunctionEncoder.encode(t31SubmitFunction(BigInteger.ONE)));
+    }
+
+    /** 노드의 pending nonce 조회 (hot submit 준비용) */
+    public BigInteger getPendingNonce() throws Exception {
+        return pendingNonce();
+    }
+
+    private static Function t31SubmitFunction(BigInteger guess) {
+        return new Function(
                 "submit",
                 List.of(new Uint256(guess)),
                 List.of()
         );
-        return sendFunctionTx(contract, f);
     }
 
     /**
@@ -249,18 +457,7 @@ public class EvmService {
      * 여러 함수명 시도, 실패 시 0 반환 (API 500 방지)
      */
     public BigInteger t31CurrentRound(String contract) throws Exception {
-        String[] candidates = {"currentRound", "round", "getRound"};
-        for (String name : candidates) {
-            try {
-                Function f = new Function(name, List.of(), List.of(new TypeReference<Uint256>() {}));
-                List<Type> out = ethCall(contract, f);
-                if (!out.isEmpty()) {
-                    return (BigInteger) out.get(0).getValue();
-                }
-            } catch (Exception ignore) { /* try next */ }
-        }
-        // graceful fallback: unknown ABI, treat as round 0 (prevents 500 on /t31/state)
-        return BigInteger.ZERO;
+        return await(t31CurrentRoundAsync(contract));
     }
 
     /**
@@ -287,41 +484,7 @@ public class EvmService {
      *  실패 시 0으로 폴백 (API 500 방지)
      */
     public BigInteger t31PotSmart(String contract) throws Exception {
-        // 1) pot()
-        try {
-            Function f = new Function("pot", List.of(), List.of(new TypeReference<Uint256>() {}));
-            List<Type> out = ethCall(contract, f);
-            if (!out.isEmpty()) return (BigInteger) out.get(0).getValue();
-        } catch (Exception ignore) {}
-
-        // 2) getBalance()
-        try {
-            Function f2 = new Function("getBalance", List.of(), List.of(new TypeReference<Uint256>() {}));
-            List<Type> out2 = ethCall(contract, f2);
-            if (!out2.isEmpty()) return (BigInteger) out2.get(0).getValue();
-        } catch (Exception ignore) {}
-
-        // 3) round 인자 필요 버전들 (round 조회 실패 또는 0이면 스킵)
-        try {
-            BigInteger round = t31CurrentRound(contract);
-            if (round != null && round.signum() > 0) {
-                String[] candidates = {"pot", "getPot", "potOf", "pool", "poolOf"};
-                for (String name : candidates) {
-                    try {
-                        Function f3 = new Function(
-                                name,
-                                List.of(new Uint256(round)),
-                                List.of(new TypeReference<Uint256>() {})
-                        );
-                        List<Type> out3 = ethCall(contract, f3);
-                        if (!out3.isEmpty()) return (BigInteger) out3.get(0).getValue();
-                    } catch (Exception ignore) {}
-                }
-            }
-        } catch (Exception ignore) {}
-
-        // 4) 실패 시 graceful fallback
-        return BigInteger.ZERO;
+        return await(t31PotSmartAsync(contract));
     }
 
     /**
@@ -329,18 +492,7 @@ public class EvmService {
      * 전부 실패 시 null 반환(정보 없음 의미).
      */
     public Boolean t31IsOpenSmart(String contract) throws Exception {
-        String[] names = {"isOpen", "isRoundOpen", "isActive", "isRunning", "open"};
-        for (String name : names) {
-            try {
-                Function f = new Function(name, List.of(), List.of(new TypeReference<Bool>() {}));
-                List<Type> out = ethCall(contract, f);
-                if (!out.isEmpty()) {
-                    Object v = out.get(0).getValue();
-                    if (v instanceof Boolean b) return b;
-                }
-            } catch (Exception ignore) {}
-        }
-        return null; // 알 수 없음
+        return await(t31IsOpenSmartAsync(contract));
     }
 
     /**
@@ -348,27 +500,7 @@ public class EvmService {
      * 정보 없으면 null.
      */
     public String t31WinnerSmart(String contract) throws Exception {
-        String[] noArg = {"winner", "getWinner", "lastWinner"};
-        for (String n : noArg) {
-            try {
-                Function f = new Function(n, List.of(), List.of(new TypeReference<Address>() {}));
-                List<Type> out = ethCall(contract, f);
-                if (!out.isEmpty()) return out.get(0).getValue().toString();
-            } catch (Exception ignore) {}
-        }
-        // winnerOf(round) / getWinnerOf(round)
-        try {
-            BigInteger round = t31CurrentRound(contract);
-            String[] withArg = {"winnerOf", "getWinnerOf"};
-            for (String n : withArg) {
-                try {
-                    Function f = new Function(n, List.of(new Uint256(round)), List.of(new TypeReference<Address>() {}));
-                    List<Type> out = ethCall(contract, f);
-                    if (!out.isEmpty()) return out.get(0).getValue().toString();
-                } catch (Exception ignore) {}
-            }
-        } catch (Exception ignore) {}
-        return null;
+        return await(t31WinnerSmartAsync(contract));
     }
 
     /**
@@ -386,8 +518,245 @@ public class EvmService {
         throw new RuntimeException("No matching start function (start/startNextRound/newRound/openRound) on contract");
     }
 
+    /* -------------------- 비동기 조회 (CompletableFuture) -------------------- */
+
+    /** T31 상세 상태. failed 에는 타임아웃/오류로 채우지 못한 항목 이름 (부분 결과) */
+    public record T31Inspect(BigInteger round, BigInteger pot, Boolean isOpen, String winner, List<String> failed) {}
+
+    public CompletableFuture<BigInteger> getEthBalanceWeiAsync(String address) {
+        return sendBounded(web3j.ethGetBalance(address, DefaultBlockParameterName.LATEST))
+                .thenApply(EthGetBalance::getBalance);
+    }
+
+    public CompletableFuture<Integer> erc20DecimalsAsync(String token) {
+        Function f = new Function("decimals", List.of(), List.of(new TypeReference<Uint8>() {}));
+        return ethCallAsync(token, f).thenApply(out -> ((Uint8) out.get(0)).getValue().intValue());
+    }
+
+    public CompletableFuture<BigInteger> erc20BalanceOfAsync(String token, String owner) {
+        Function f = new Function("balanceOf", List.of(new Address(owner)), List.of(new TypeReference<Uint256>() {}));
+        return ethCallAsync(token, f).thenApply(out -> (BigInteger) out.get(0).getValue());
+    }
+
+    public CompletableFuture<BigInteger> erc20AllowanceAsync(String token, String owner, String spender) {
+        Function f = new Function("allowance",
+                List.of(new Address(owner), new Address(spender)),
+                List.of(new TypeReference<Uint256>() {}));
+        return ethCallAsync(token, f).thenApply(out -> (BigInteger) out.get(0).getValue());
+    }
+
+    public CompletableFuture<String> erc20SymbolAsync(String token) {
+        Function f = new Function("symbol", List.of(), List.of(new TypeReference<Utf8String>() {}));
+        return ethCallAsync(token, f).thenApply(out -> (String) out.get(0).getValue());
+    }
+
+    public CompletableFuture<String> erc20NameAsync(String token) {
+        Function f = new Function("name", List.of(), List.of(new TypeReference<Utf8String>() {}));
+        return ethCallAsync(token, f).thenApply(out -> (String) out.get(0).getValue());
+    }
+
+    public CompletableFuture<Erc20Meta> erc20MetaAsync(String token) {
+        var name = erc20NameAsync(token);
+        var symbol = erc20SymbolAsync(token);
+        var decimals = erc20DecimalsAsync(token);
+        return CompletableFuture.allOf(name, symbol, decimals)
+                .thenApply(v -> new Erc20Meta(name.join(), symbol.join(), decimals.join()));
+    }
+
+    /*
+     * T31 후보 호출은 폴백이 이전 응답 콜백(evmReadExecutor 스레드)에서 이어지므로,
+     * 호출 스레드의 RPC 레인을 진입 시 한 번 잡아 firstOf 체인의 모든 후보에 넘긴다.
+     */
+
+    /** currentRound/round/getRound 순, 전부 실패 시 0 */
+    public CompletableFuture<BigInteger> t31CurrentRoundAsync(String contract) {
+        return t31CurrentRoundAsync(RpcBudgetScheduler.currentPriority(), contract);
+    }
+
+    private CompletableFuture<BigInteger> t31CurrentRoundAsync(RpcPriority lane, String contract) {
+        List<Supplier<CompletableFuture<BigInteger>>> attempts = new ArrayList<>();
+        for (String name : new String[]{"currentRound", "round", "getRound"}) {
+            attempts.add(() -> uint256CallAsync(lane, contract, name, List.of()));
+        }
+        return firstOf(attempts, 0, BigInteger.ZERO);
+    }
+
+    public CompletableFuture<BigInteger> t31PotSmartAsync(String contract) {
+        RpcPriority lane = RpcBudgetScheduler.currentPriority();
+        return t31PotSmartAsync(lane, contract, t31CurrentRoundAsync(lane, contract));
+    }
+
+    /**
+     * pot() → getBalance() → 현재 round 인자 pot/getPot/potOf/pool/poolOf 순, 전부 실패 시 0.
+     * round 인자 버전은 이미 진행 중인 round 조회 결과를 재사용
+     */
+    private CompletableFuture<BigInteger> t31PotSmartAsync(RpcPriority lane, String contract, CompletableFuture<BigInteger> round) {
+        List<Supplier<CompletableFuture<BigInteger>>> attempts = new ArrayList<>();
+        attempts.add(() -> uint256CallAsync(lane, contract, "pot", List.of()));
+        attempts.add(() -> uint256CallAsync(lane, contract, "getBalance", List.of()));
+        for (String name : new String[]{"pot", "getPot", "potOf", "pool", "poolOf"}) {
+            attempts.add(() -> round.thenCompose(r -> (r != null && r.signum() > 0)
+                    ? uint256CallAsync(lane, contract, name, List.of(new Uint256(r)))
+                    : CompletableFuture.<BigInteger>completedFuture(null)));
+        }
+        return firstOf(attempts, 0, BigInteger.ZERO);
+    }
+
+    /** isOpen/isRoundOpen/isActive/isRunning/open 순, 전부 실패 시 null (알 수 없음) */
+    public CompletableFuture<Boolean> t31IsOpenSmartAsync(String contract) {
+        RpcPriority lane = RpcBudgetScheduler.currentPriority();
+        List<Supplier<CompletableFuture<Boolean>>> attempts = new ArrayList<>();
+        for (String name : new String[]{"isOpen", "isRoundOpen", "isActive", "isRunning", "open"}) {
+            Function f = new Function(name, List.of(), List.of(new TypeReference<Bool>() {}));
+            attempts.add(() -> ethCallAsync(lane, contract, f).thenApply(out ->
+                    !out.isEmpty() && out.get(0).getValue() instanceof Boolean b ? b : null));
+        }
+        return firstOf(attempts, 0, null);
+    }
+
+    public CompletableFuture<String> t31WinnerSmartAsync(String contract) {
+        RpcPriority lane = RpcBudgetScheduler.currentPriority();
+        return t31WinnerSmartAsync(lane, contract, t31CurrentRoundAsync(lane, contract));
+    }
+
+    /** winner/getWinner/lastWinner → winnerOf/getWinnerOf(round) 순, 정보 없으면 null */
+    private CompletableFuture<String> t31WinnerSmartAsync(RpcPriority lane, String contract, CompletableFuture<BigInteger> round) {
+        List<Supplier<CompletableFuture<String>>> attempts = new ArrayList<>();
+        for (String name : new String[]{"winner", "getWinner", "lastWinner"}) {
+            attempts.add(() -> addressCallAsync(lane, contract, name, null));
+        }
+        for (String name : new String[]{"winnerOf", "getWinnerOf"}) {
+            attempts.add(() -> round.thenCompose(r -> addressCallAsync(lane, contract, name, r)));
+        }
+        return firstOf(attempts, 0, null);
+    }
+
+    /** round/pot 병렬 (pot 의 round 인자 폴백은 같은 round 조회를 공유) */
+    public CompletableFuture<T31State> t31StateAsync(String contract) {
+        RpcPriority lane = RpcBudgetScheduler.currentPriority();
+        var round = t31CurrentRoundAsync(lane, contract);
+        var pot = t31PotSmartAsync(lane, contract, round);
+        return round.thenCombine(pot, T31State::new);
+    }
+
+    /** round/pot/isOpen/winner 병렬 조회. 항목별 타임아웃/오류는 failed 에 기록하고 나머지로 응답 */
+    public CompletableFuture<T31Inspect> t31InspectAsync(String contract) {
+        RpcPriority lane = RpcBudgetScheduler.currentPriority();
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        var roundRaw = t31CurrentRoundAsync(lane, contract);
+        var round = partial("round", roundRaw, failed);
+        var pot = partial("potRaw", t31PotSmartAsync(lane, contract, roundRaw), failed);
+        var open = partial("isOpen", t31IsOpenSmartAsync(contract), failed);
+        var winner = partial("winner", t31WinnerSmartAsync(lane, contract, roundRaw), failed);
+        return CompletableFuture.allOf(round, pot, open, winner)
+                .thenApply(v -> new T31Inspect(round.join(), pot.join(), open.join(), winner.join(), List.copyOf(failed)));
+    }
+
+    /** 동기 API 용: join 후 CompletionException 을 원인 예외로 풀어서 던짐 */
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    /** 실패/타임아웃이면 null 로 완료하고 name 을 failed 에 추가 */
+    private static <T> CompletableFuture<T> partial(String name, CompletableFuture<T> f, List<String> failed) {
+        return f.exceptionally(e -> {
+            failed.add(name);
+            return null;
+        });
+    }
+
+    /**
+     * attempts 를 순서대로 시도, 처음으로 null 이 아닌 값을 반환.
+     * 빈 결과/{@link CandidateMiss}(해당 ABI 없음)만 다음 후보로 넘어가고,
+     * 타임아웃·전송 오류·예산 초과는 그대로 실패시켜 partial 이 failed 에 기록하게 함.
+     */
+    private static <T> CompletableFuture<T> firstOf(List<Supplier<CompletableFuture<T>>> attempts, int i, T fallback) {
+        if (i >= attempts.size()) return CompletableFuture.completedFuture(fallback);
+        return attempts.get(i).get()
+                .handle((v, e) -> {
+                    if (e == null && v != null) return CompletableFuture.completedFuture(v);
+                    if (e == null || causeOf(e) instanceof CandidateMiss) return firstOf(attempts, i + 1, fallback);
+                    return CompletableFuture.<T>failedFuture(causeOf(e));
+                })
+                .thenCompose(f -> f);
+    }
+
+    private static Throwable causeOf(Throwable e) {
+        return (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+    }
+
+    /** 노드가 응답은 했지만 호출이 실패(리버트/함수 없음)했거나 디코딩할 수 없는 결과: 다음 ABI 후보를 시도할 대상 */
+    private static final class CandidateMiss extends RuntimeException {
+        CandidateMiss(String message) {
+            super(message);
+        }
+    }
+
+    private CompletableFuture<BigInteger> uint256CallAsync(RpcPriority lane, String contract, String name, List<Type> args) {
+        Function f = new Function(name, args, List.of(new TypeReference<Uint256>() {}));
+        return ethCallAsync(lane, contract, f).thenApply(out -> out.isEmpty() ? null : (BigInteger) out.get(0).getValue());
+    }
+
+    private CompletableFuture<String> addressCallAsync(RpcPriority lane, String contract, String name, BigInteger round) {
+        List<Type> args = (round == null) ? List.of() : List.of(new Uint256(round));
+        Function f = new Function(name, args, List.of(new TypeReference<Address>() {}));
+        return ethCallAsync(lane, contract, f).thenApply(out -> out.isEmpty() ? null : out.get(0).getValue().toString());
+    }
+
     /* -------------------- 내부 헬퍼: call / send -------------------- */
 
+    private CompletableFuture<List<Type>> ethCallAsync(String to, Function function) {
+        return ethCallAsync(RpcBudgetScheduler.currentPriority(), to, function);
+    }
+
+    /** ethCall 의 비동기 버전 (lane 레인으로 전송). 노드가 돌려준 호출 오류/디코딩 실패는 {@link CandidateMiss} */
+    private CompletableFuture<List<Type>> ethCallAsync(RpcPriority lane, String to, Function function) {
+        String data = FunctionEncoder.encode(function);
+        var tx = Transaction.createEthCallTransaction(null, to, data);
+        return sendBounded(lane, web3j.ethCall(tx, DefaultBlockParameterName.LATEST))
+                .thenApply(resp -> {
+                    if (resp.hasError()) throw new CandidateMiss(resp.getError().getMessage());
+                    try {
+                        return FunctionReturnDecoder.decode(resp.getValue(), function.getOutputParameters());
+                    } catch (RuntimeException e) {
+                        throw new CandidateMiss("undecodable " + function.getName() + " result: " + e.getMessage());
+                    }
+                });
+    }
+
+    /** 호출 스레드의 RPC 레인으로 {@link #sendBounded(RpcPriority, Request)} */
+    private <T extends Response<?>> CompletableFuture<T> sendBounded(Request<?, T> request) {
+        return sendBounded(RpcBudgetScheduler.currentPriority(), request);
+    }
+
+    /**
+     * request.send() 를 evmReadExecutor 에서 lane 레인으로 실행 (Web3j sendAsync 의 무제한 공용 풀 대신).
+     * 동시 RPC 수는 풀 크기, 대기는 큐 용량으로 제한되고 넘치면 즉시 실패.
+     * 타임아웃은 제출 시점부터 세고, 큐에서 기다리다 이미 타임아웃된 작업은 RPC 를 보내지 않음 (예산도 소모하지 않음).
+     */
+    private <T extends Response<?>> CompletableFuture<T> sendBounded(RpcPriority lane, Request<?, T> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.orTimeout(asyncCallTimeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            evmReadExecutor.execute(() -> {
+                if (result.isDone()) return;
+                try {
+                    result.complete(RpcBudgetScheduler.callWithPriority(lane, request::send));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     private List<Type> ethCall(String to, Function function) throws Exception {
         String data = FunctionEncoder.encode(function);
         var tx = Transaction.createEthCallTransaction(null, to, data);
@@ -397,7 +766,12 @@ public class EvmService {
     }
 
     // ✅ 수정: RawTransaction1559 제거, 기본 gasPrice 기반 전송
+    // 전송 준비(estimateGas/gasPrice/nonce)까지 WRITE 레인으로 보내 백그라운드 폴링에 밀리지 않게 함
     private String sendFunctionTx(String to, Function function) throws Exception {
+        return RpcBudgetScheduler.callWithPriority(RpcPriority.WRITE, () -> doSendFunctionTx(to, function));
+    }
+
+    private String doSendFunctionTx(String to, Function function) throws Exception {
         String data = FunctionEncoder.encode(function);
 
         // 가스 추정
@@ -406,22 +780,62 @@ public class EvmService {
         // 기본 가스가격 가져오기
         BigInteger gasPrice = web3j.ethGasPrice().send().getGasPrice();
 
-        // nonce
-        BigInteger nonce = web3j.ethGetTransactionCount(
+        synchronized (sendLock) {
+            // nonce
+            BigInteger nonce = nextNonce(pendingNonce(), System.currentTimeMillis());
+
+            // 서명 및 전송
+            return broadcast(signTx(to, data, nonce, gasPrice, gasLimit), describe(function));
+        }
+    }
+
+    /**
+     * observedAtMillis 에 관측한 pending nonce 로 쓸 nonce 결정 (sendLock 안에서 호출).
+     * 직전 전송 후 nonce-lag-grace-ms 안의 관측이 그 전송을 아직 반영하지 못했으면 마지막 전송 nonce + 1,
+     * 유예 후에도 뒤처져 있으면 그 전송이 드롭된 것이므로 기록을 버리고 노드 값을 따름 (nonce 공백 방지).
+     */
+    private BigInteger nextNonce(BigInteger pending, long observedAtMillis) {
+        if (lastSentNonce == null || pending.compareTo(lastSentNonce) > 0) return pending;
+        if (observedAtMillis - lastSentAtMillis <= nonceLagGraceMs) return lastSentNonce.add(BigInteger.ONE);
+        lastSentNonce = null;
+        return pending;
+    }
+
+    private BigInteger pendingNonce() throws Exception {
+        return web3j.ethGetTransactionCount(
                 credentials.getAddress(), DefaultBlockParameterName.PENDING).send().getTransactionCount();
+    }
 
+    private TxWatchdog.SignedTx signTx(String to, String data, BigInteger nonce, BigInteger gasPrice, BigInteger gasLimit) {
         // RawTransaction 생성 (EIP-1559 대신 legacy 방식)
         RawTransaction rawTx = RawTransaction.createTransaction(
                 nonce, gasPrice, gasLimit, to, BigInteger.ZERO, data);
+        return new TxWatchdog.SignedTx(to, data, nonce, gasPrice, gasLimit, txManager.sign(rawTx));
+    }
 
-        // 서명 및 전송
-        String signed = txManager.sign(rawTx);
-        EthSendTransaction sent = web3j.ethSendRawTransaction(signed).send();
-
+    // 전송 성공한 해시는 TxStatusStore 에 추적 등록 (/tx/{hash} 가 노드 폴링 없이 pending 응답)
+    // + TxWatchdog 감시 대상 (미채굴 지속 시 같은 nonce 로 수수료 인상 재전송)
+    private String broadcast(TxWatchdog.SignedTx tx, String label) throws Exception {
+        EthSendTransaction sent = web3j.ethSendRawTransaction(tx.signed()).send();
         if (sent.hasError()) throw new RuntimeException(sent.getError().getMessage());
+        txStore.trackSent(sent.getTransactionHash(), label);
+        lastSentNonce = (lastSentNonce == null) ? tx.nonce() : lastSentNonce.max(tx.nonce());
+        lastSentAtMillis = System.currentTimeMillis();
+        txWatchdog.watch(tx, sent.getTransactionHash(), label);
         return sent.getTransactionHash();
     }
 
+    /** 추적 라벨용 호출 요약, 예: submit(7) */
+    private static String describe(Function function) {
+        StringBuilder sb = new StringBuilder(function.getName()).append('(');
+        List<Type> in = function.getInputParameters();
+        for (int i = 0; i < in.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(in.get(i).getValue());
+        }
+        return sb.append(')').toString();
+    }
+
     private BigInteger estimateGas(String from, String to, String data) throws Exception {
         Transaction tx = Transaction.createFunctionCallTransaction(
                 from,
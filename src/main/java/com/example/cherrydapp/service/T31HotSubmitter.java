@@ -0,0 +1,99 @@
+package com.example.cherrydapp.service;
+
+import com.example.cherrydapp.rpc.RpcBudgetScheduler;
+import com.example.cherrydapp.rpc.RpcPriority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ThirtyOneGame "hot submit" (opt-in, t31.hot-submit.enabled).
+ * 새 블록마다 gasPrice / pending nonce 를, 주기적으로 submit 가스 한도를 미리 준비해 두고
+ * 제출 시에는 인코딩 + 서명 + sendRawTransaction 한 번만 수행한다.
+ * 준비 상태가 없거나 오래됐거나 전송이 nonce/가격 문제로 거절되면 일반 t31Submit 경로로 폴백.
+ */
+@Component
+@RequiredArgsConstructor
+public class T31HotSubmitter {
+
+    private final Web3j web3j;
+    private final EvmService evm;
+
+    @Value("${t31.hot-submit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${t31.contract:}")
+    private String defaultContract;
+
+    // 준비 상태를 믿고 쓸 수 있는 최대 나이 (새 블록 갱신이 멈췄을 때 대비)
+    @Value("${t31.hot-submit.max-age-ms:30000}")
+    private long maxAgeMs;
+
+    // 가스 한도는 블록마다 바뀌지 않으므로 이 블록 수마다만 재추정
+    @Value("${t31.hot-submit.gas-refresh-blocks:50}")
+    private long gasRefreshBlocks;
+
+    /** 컨트랙트별 준비 상태 */
+    public record Prepared(BigInteger gasPrice, BigInteger gasLimit, BigInteger nonce, long gasBlock, long preparedAtMillis) {}
+
+    /** 제출 결과 (hot=false 면 일반 경로로 전송됨) */
+    public record SubmitResult(String txHash, boolean hot) {}
+
+    private final Map<String, Prepared> prepared = new ConcurrentHashMap<>();
+    private final Map<String, String> contracts = new ConcurrentHashMap<>();
+    private volatile long lastBlock = -1;
+
+    public SubmitResult submit(String contract, BigInteger guess) throws Exception {
+        if (!enabled) return new SubmitResult(evm.t31Submit(contract, guess), false);
+        String k = key(contract);
+        contracts.putIfAbsent(k, contract); // 다음 블록부터 준비 대상
+        Prepared p = prepared.get(k);
+        if (p == null || System.currentTimeMillis() - p.preparedAtMillis() > maxAgeMs) {
+            return new SubmitResult(evm.t31Submit(contract, guess), false);
+        }
+        try {
+            return new SubmitResult(evm.t31SubmitPrepared(contract, guess,
+                    p.gasPrice(), p.gasLimit(), p.nonce(), p.preparedAtMillis()), true);
+        } catch (RuntimeException e) {
+            // nonce too low / replacement underpriced 등: 준비 상태를 버리고 일반 경로로 재시도
+            prepared.remove(k);
+            return new SubmitResult(evm.t31Submit(contract, guess), false);
+        }
+    }
+
+    /** 새 블록이면 gasPrice/nonce 갱신 (BACKGROUND 레인, 예산 부족 시 폐기되어도 다음 주기에 재시도) */
+    @Scheduled(fixedDelayString = "${t31.hot-submit.refresh-ms:3000}")
+    public void refresh() {
+        if (!enabled) return;
+        if (defaultContract != null && !defaultContract.isBlank()) contracts.putIfAbsent(key(defaultContract), defaultContract);
+        if (contracts.isEmpty()) return;
+        RpcBudgetScheduler.runWithPriority(RpcPriority.BACKGROUND, () -> {
+            try {
+                long block = web3j.ethBlockNumber().send().getBlockNumber().longValue();
+                if (block == lastBlock) return;
+                BigInteger gasPrice = web3j.ethGasPrice().send().getGasPrice();
+                BigInteger nonce = evm.getPendingNonce();
+                long now = System.currentTimeMillis();
+                for (Map.Entry<String, String> c : contracts.entrySet()) {
+                    Prepared old = prepared.get(c.getKey());
+                    boolean regas = old == null || block - old.gasBlock() >= gasRefreshBlocks;
+                    BigInteger gasLimit = regas ? evm.estimateT31SubmitGas(c.getValue()) : old.gasLimit();
+                    long gasBlock = regas ? block : old.gasBlock();
+                    prepared.put(c.getKey(), new Prepared(gasPrice, gasLimit, nonce, gasBlock, now));
+                }
+                lastBlock = block;
+            } catch (Exception ignore) { /* 다음 주기에 재시도 */ }
+        });
+    }
+
+    private static String key(String contract) {
+        return contract.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.cherrydapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 트랜잭션 상태 저장소.
+ * <ul>
+ *   <li>이 서비스가 보낸 트랜잭션 / waitForReceipt 로 받은 영수증 추적 (메모리)</li>
+ *   <li>finality 깊이를 넘긴 영수증은 압축 바이너리 파일(append-only)에 기록, 최근 조회분은 LRU 핫 티어에 유지</li>
+ * </ul>
+ * 한 번 확정된 영수증은 다시 노드에 묻지 않는다.
+ */
+@Component
+public class TxStatusStore {
+
+    private static final String TRANSFER_TOPIC = Hash.sha3String("Transfer(address,address,uint256)");
+    private static final String APPROVAL_TOPIC = Hash.sha3String("Approval(address,address,uint256)");
+    private static final byte KIND_TRANSFER = 1, KIND_APPROVAL = 2, KIND_T31 = 3;
+    // 효과 레코드의 선택 필드 존재 여부 (t31Event 는 from/to 가 없을 수 있음 — 0x0 주소와 구분)
+    private static final int HAS_FROM = 1, HAS_TO = 2;
+
+    @Value("${tx.store.path:data/tx-receipts.bin}")
+    private String path;
+
+    @Value("${tx.store.hot-capacity:1024}")
+    private int hotCapacity;
+
+    // 이 깊이 이상 쌓인 블록의 영수증만 확정으로 보고 파일에 기록 (reorg 대비)
+    @Value("${tx.store.finality-blocks:12}")
+    private long finalityBlocks;
+
+    // 이 시간 동안 영수증이 없으면(드롭/교체/외부 nonce 사용) 추적에서 제외
+    @Value("${tx.store.pending-ttl-ms:3600000}")
+    private long pendingTtlMs;
+
+    @Value("${t31.contract:}")
+    private String t31Contract;
+
+    /** 영수증 로그에서 읽어낸 효과 (ERC-20 Transfer/Approval, T31 컨트랙트 이벤트) */
+    public record TxEffect(String kind, String contract, String from, String to, BigInteger value) {}
+
+    /** /tx/{hash} 응답 단위. status: pending | success | failed | notFound, source: store | tracking | node */
+    public record TxStatus(String hash, String status, BigInteger blockNumber, BigInteger gasUsed,
+                           List<TxEffect> effects, String label, String source) {}
+
+    /** 추적 중인 트랜잭션 (영수증이 오면 receipt 채움, 확정되면 제거) */
+    public static final class Tracked {
+        final String hash;
+        final String label;
+        final long sentAtMillis;
+        volatile TransactionReceipt receipt;
+
+        Tracked(String hash, String label) {
+            this.hash = hash;
+            this.label = label;
+            this.sentAtMillis = System.currentTimeMillis();
+        }
+    }
+
+    private final Map<String, Tracked> tracked = new ConcurrentHashMap<>();
+    private final Map<String, Long> coldIndex = new HashMap<>();
+    private final Map<String, TxStatus> hot = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TxStatus> eldest) {
+            return size() > hotCapacity;
+        }
+    };
+    private RandomAccessFile file;
+
+    /* -------------------- 추적 -------------------- */
+
+    public void trackSent(String hash, String label) {
+        tracked.putIfAbsent(key(hash), new Tracked(hash, label));
+    }
+
+    /** 영수증을 받은 즉시 기록 (보낸 적 없는 해시도 추적 대상으로 편입) */
+    public void recordReceipt(TransactionReceipt receipt) {
+        tracked.computeIfAbsent(key(receipt.getTransactionHash()), k -> new Tracked(receipt.getTransactionHash(), null))
+                .receipt = receipt;
+    }
+
+    /** 교체 전송으로 밀려난 해시 등, 더 이상 영수증이 나올 수 없는 해시를 추적에서 제외 */
+    public void forget(String hash) {
+        tracked.remove(key(hash));
+    }
+
+    public Tracked tracked(String hash) {
+        return tracked.get(key(hash));
+    }
+
+    public Collection<Tracked> trackedAll() {
+        return tracked.values();
+    }
+
+    /** pending-ttl-ms 를 넘기도록 영수증이 없는 추적분 제거, 제거 건수 반환 */
+    public int expirePending(long nowMillis) {
+        int removed = 0;
+        for (Tracked t : tracked.values()) {
+            if (t.receipt == null && nowMillis - t.sentAtMillis > pendingTtlMs && tracked.remove(key(t.hash), t)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public TxStatus fromTracking(Tracked t) {
+        if (t.receipt == null) {
+            return new TxStatus(t.hash, "pending", null, null, List.of(), t.label, "tracking");
+        }
+        return toStatus(t.receipt, t.label, "tracking");
+    }
+
+    /** latestBlock 기준 finality 깊이를 넘겼는지 */
+    public boolean isDeep(TransactionReceipt receipt, BigInteger latestBlock) {
+        if (latestBlock == null || latestBlock.signum() < 0) return false;
+        return latestBlock.subtract(receipt.getBlockNumber()).longValue() >= finalityBlocks;
+    }
+
+    /** 확정 영수증을 파일에 기록하고 추적에서 제거 (블록이 정규 체인에 남아 있는지는 호출 측이 확인) */
+    public void persistFinal(TransactionReceipt receipt, String label) throws IOException {
+        TxStatus st = toStatus(receipt, label, "store");
+        append(st);
+        tracked.remove(key(st.hash()));
+    }
+
+    /** reorg 로 무효가 된 캐시 영수증을 버림 (해시는 계속 추적해 새 영수증을 다시 받음) */
+    public void discardReceipt(String hash) {
+        Tracked t = tracked.get(key(hash));
+        if (t != null) t.receipt = null;
+    }
+
+    /* -------------------- 확정 영수증 조회 -------------------- */
+
+    public synchronized TxStatus findFinal(String hash) throws IOException {
+        String k = key(hash);
+        TxStatus st = hot.get(k);
+        if (st != null) return st;
+        ensureOpen();
+        Long off = coldIndex.get(k);
+        if (off == null) return null;
+        file.seek(off);
+        st = readRecord();
+        hot.put(k, st);
+        return st;
+    }
+
+    private synchronized void append(TxStatus st) throws IOException {
+        ensureOpen();
+        String k = key(st.hash());
+        if (coldIndex.containsKey(k)) return;
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(buf);
+        out.write(Numeric.hexStringToByteArray(st.hash()));
+        out.writeBoolean("success".equals(st.status()));
+        out.writeLong(st.blockNumber().longValue());
+        out.writeLong(st.gasUsed().longValue());
+        out.writeUTF(st.label() != null ? st.label() : "");
+        int n = Math.min(st.effects().size(), 255);
+        out.writeByte(n);
+        for (int i = 0; i < n; i++) {
+            TxEffect e = st.effects().get(i);
+            out.writeByte(switch (e.kind()) {
+                case "erc20Transfer" -> KIND_TRANSFER;
+                case "erc20Approval" -> KIND_APPROVAL;
+                default -> KIND_T31;
+            });
+            out.writeByte((e.from() != null ? HAS_FROM : 0) | (e.to() != null ? HAS_TO : 0));
+            out.write(address20(e.contract()));
+            if (e.from() != null) out.write(address20(e.from()));
+            if (e.to() != null) out.write(address20(e.to()));
+            byte[] v = e.value() != null ? e.value().toByteArray() : new byte[0];
+            out.writeByte(v.length);
+            out.write(v);
+        }
+        long off = file.length();
+        file.seek(off);
+        file.write(buf.toByteArray());
+        coldIndex.put(k, off);
+        hot.put(k, st);
+    }
+
+    private TxStatus readRecord() throws IOException {
+        byte[] h = new byte[32];
+        file.readFully(h);
+        boolean ok = file.readBoolean();
+        long block = file.readLong();
+        long gas = file.readLong();
+        String label = file.readUTF();
+        int n = file.readUnsignedByte();
+        List<TxEffect> effects = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            byte kind = file.readByte();
+            int present = file.readUnsignedByte();
+            String contract = readAddress();
+            String from = (present & HAS_FROM) != 0 ? readAddress() : null;
+            String to = (present & HAS_TO) != 0 ? readAddress() : null;
+            byte[] v = new byte[file.readUnsignedByte()];
+            file.readFully(v);
+            String k = kind == KIND_TRANSFER ? "erc20Transfer" : kind == KIND_APPROVAL ? "erc20Approval" : "t31Event";
+            effects.add(new TxEffect(k, contract, from, to, v.length == 0 ? null : new BigInteger(v)));
+        }
+        return new TxStatus(Numeric.toHexString(h), ok ? "success" : "failed",
+                BigInteger.valueOf(block), BigInteger.valueOf(gas), effects, label.isEmpty() ? null : label, "store");
+    }
+
+    /** 최초 사용 시 파일을 열고 레코드 오프셋 인덱스를 구성 (레코드 본문은 필요할 때만 읽음) */
+    private void ensureOpen() throws IOException {
+        if (file != null) return;
+        File f = new File(path);
+        if (f.getParentFile() != null) f.getParentFile().mkdirs();
+        file = new RandomAccessFile(f, "rw");
+        long off = 0, len = file.length();
+        try {
+            while (off < len) {
+                file.seek(off);
+                TxStatus st = readRecord();
+                coldIndex.put(key(st.hash()), off);
+                off = file.getFilePointer();
+            }
+        } catch (IOException e) {
+            // 마지막 레코드가 잘린 경우(비정상 종료) 그 지점부터 덮어씀
+            file.setLength(off);
+        }
+    }
+
+    private String readAddress() throws IOException {
+        byte[] a = new byte[20];
+        file.readFully(a);
+        return Numeric.toHexString(a);
+    }
+
+    private static byte[] address20(String addr) {
+        if (addr == null) return new byte[20];
+        return Numeric.toBytesPadded(Numeric.toBigInt(addr), 20);
+    }
+
+    private static String key(String hash) {
+        return Numeric.cleanHexPrefix(hash).toLowerCase(Locale.ROOT);
+    }
+
+    /* -------------------- 영수증 → 상태/효과 -------------------- */
+
+    public TxStatus toStatus(TransactionReceipt r, String label, String source) {
+        return new TxStatus(r.getTransactionHash(), r.isStatusOK() ? "success" : "failed",
+                r.getBlockNumber(), r.getGasUsed(), decodeEffects(r), label, source);
+    }
+
+    private List<TxEffect> decodeEffects(TransactionReceipt r) {
+        List<TxEffect> out = new ArrayList<>();
+        if (r.getLogs() == null) return out;
+        for (Log log : r.getLogs()) {
+            List<String> topics = log.getTopics();
+            if (topics == null || topics.isEmpty()) continue;
+            String t0 = topics.get(0);
+            BigInteger firstWord = firstWord(log.getData());
+            // ERC-721 Transfer 는 topic 4개(tokenId indexed) 이므로 제외
+            if (topics.size() == 3 && TRANSFER_TOPIC.equalsIgnoreCase(t0)) {
+                out.add(new TxEffect("erc20Transfer", log.getAddress(), topicAddress(topics.get(1)), topicAddress(topics.get(2)), firstWord));
+            } else if (topics.size() == 3 && APPROVAL_TOPIC.equalsIgnoreCase(t0)) {
+                out.add(new TxEffect("erc20Approval", log.getAddress(), topicAddress(topics.get(1)), topicAddress(topics.get(2)), firstWord));
+            } else if (t31Contract != null && !t31Contract.isBlank() && t31Contract.equalsIgnoreCase(log.getAddress())) {
+                // T31 ABI 는 추정이므로 indexed 주소 1~2개와 첫 데이터 워드만 노출
+                String from = topics.size() > 1 ? topicAddress(topics.get(1)) : null;
+                String to = topics.size() > 2 ? topicAddress(topics.get(2)) : null;
+                out.add(new TxEffect("t31Event", log.getAddress(), from, to, firstWord));
+            }
+        }
+        return out;
+    }
+
+    private static String topicAddress(String topic) {
+        String clean = Numeric.cleanHexPrefix(topic);
+        return "0x" + clean.substring(Math.max(0, clean.length() - 40));
+    }
+
+    private static BigInteger firstWord(String data) {
+        String clean = Numeric.cleanHexPrefix(data == null ? "" : data);
+        if (clean.length() < 64) return null;
+        return new BigInteger(clean.substring(0, 64), 16);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.cherrydapp.service;
+
+import com.example.cherrydapp.rpc.RpcBudgetScheduler;
+import com.example.cherrydapp.rpc.RpcPriority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.tx.RawTransactionManager;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 이 서비스가 보낸 트랜잭션 감시: N 블록 안에 채굴되지 않으면 같은 nonce 로 gasPrice 를 올려 재서명/재전송.
+ * 원본과 교체 해시는 하나의 체인으로 묶여, 어느 해시로 물어봐도 최종 채굴 영수증으로 귀결된다.
+ * 사용자의 트랜잭션을 자동으로 재서명하므로 opt-in (tx.watchdog.enabled, 꺼져 있으면 감시 대상도 등록하지 않음).
+ */
+@Component
+@RequiredArgsConstructor
+public class TxWatchdog {
+
+    private final Web3j web3j;
+    private final RawTransactionManager txManager;
+    private final Credentials credentials;
+    private final TxStatusStore txStore;
+
+    @Value("${tx.watchdog.enabled:false}")
+    private boolean enabled;
+
+    // 처음 감지한 블록부터 이만큼 지나도 미채굴이면 교체 전송
+    @Value("${tx.watchdog.stuck-blocks:3}")
+    private long stuckBlocks;
+
+    // 노드의 교체 최소 인상폭(geth 10%)보다 커야 함
+    @Value("${tx.watchdog.bump-percent:15}")
+    private long bumpPercent;
+
+    // 노드가 같은 nonce 교체를 받아주는 최소 인상폭 (geth txpool.pricebump 기본 10%)
+    @Value("${tx.watchdog.min-replacement-percent:10}")
+    private long minReplacementPercent;
+
+    @Value("${tx.watchdog.max-gas-price-gwei:100}")
+    private long maxGasPriceGwei;
+
+    // nonce 소비 후 우리 해시의 영수증이 안 보여도 이 블록 수만큼은 재조회 (프로바이더 인덱싱 지연)
+    @Value("${tx.watchdog.receipt-retry-blocks:5}")
+    private long receiptRetryBlocks;
+
+    // 채굴 확인 후 체인 정보(해시 → 최종 해시 매핑)를 유지할 블록 수
+    @Value("${tx.watchdog.retain-blocks:256}")
+    private long retainBlocks;
+
+    /** 서명까지 끝난 legacy 트랜잭션 (재서명에 필요한 필드 보관) */
+    public record SignedTx(String to, String data, BigInteger nonce, BigInteger gasPrice, BigInteger gasLimit, String signed) {}
+
+    /** 같은 nonce 를 공유하는 원본 + 교체 트랜잭션 묶음 */
+    static final class Chain {
+        final SignedTx original;
+        final String label;
+        final List<String> hashes = new CopyOnWriteArrayList<>();
+        volatile BigInteger gasPrice;
+        volatile long sinceBlock = -1;
+        volatile String minedHash;
+        volatile long minedBlock = -1;
+        volatile long receiptMissSince = -1; // nonce 는 소비됐지만 영수증을 아직 못 찾은 첫 블록
+        volatile boolean exhausted; // 상한 때문에 더 올릴 수 없음 → 채굴 여부만 계속 감시
+
+        Chain(SignedTx original, String hash, String label) {
+            this.original = original;
+            this.label = label;
+            this.gasPrice = original.gasPrice();
+            this.hashes.add(hash);
+        }
+    }
+
+    private final Map<BigInteger, Chain> byNonce = new ConcurrentHashMap<>();
+    private final Map<String, Chain> byHash = new ConcurrentHashMap<>();
+
+    public void watch(SignedTx tx, String hash, String label) {
+        if (!enabled) return;
+        Chain c = new Chain(tx, hash, label);
+        byNonce.put(tx.nonce(), c);
+        byHash.put(key(hash), c);
+    }
+
+    /** 원본/교체 해시 전부 (최신 교체가 마지막). 감시 대상이 아니면 자기 자신만 */
+    public List<String> hashesOf(String hash) {
+        Chain c = byHash.get(key(hash));
+        return c != null ? List.copyOf(c.hashes) : List.of(hash);
+    }
+
+    /** 채굴이 확인된 해시 (교체분이 채굴되었으면 그 해시), 모르면 입력 그대로 */
+    public String resolve(String hash) {
+        Chain c = byHash.get(key(hash));
+        return (c != null && c.minedHash != null) ? c.minedHash : hash;
+    }
+
+    /* -------------------- 감시 루프 -------------------- */
+
+    @Scheduled(fixedDelayString = "${tx.watchdog.check-ms:12000}")
+    public void check() {
+        if (!enabled || byNonce.isEmpty()) return;
+        RpcBudgetScheduler.runWithPriority(RpcPriority.BACKGROUND, () -> {
+            try {
+                long block = web3j.ethBlockNumber().send().getBlockNumber().longValue();
+                // 확정된 nonce 수: 이보다 작은 nonce 는 (원본이든 교체분이든) 하나가 채굴됨
+                BigInteger minedCount = web3j.ethGetTransactionCount(
+                        credentials.getAddress(), DefaultBlockParameterName.LATEST).send().getTransactionCount();
+                for (Chain c : byNonce.values()) {
+                    // 체인 하나의 실패(예산 초과, 서명/전송 오류)가 나머지 체인 처리를 막지 않도록 개별 처리
+                    try {
+                        checkChain(c, block, minedCount);
+                    } catch (Exception ignore) { /* 다음 주기에 재시도 */ }
+                }
+            } catch (Exception ignore) { /* 다음 주기에 재시도 */ }
+        });
+    }
+
+    private void checkChain(Chain c, long block, BigInteger minedCount) throws Exception {
+        if (c.minedHash != null) {
+            if (block - c.minedBlock > retainBlocks) forget(c);
+            return;
+        }
+        if (c.original.nonce().compareTo(minedCount) < 0) {
+            markMined(c, block);
+        } else if (c.sinceBlock < 0) {
+            c.sinceBlock = block;
+        } else if (!c.exhausted && block - c.sinceBlock >= stuckBlocks) {
+            bump(c, block);
+        }
+    }
+
+    private void markMined(Chain c, long block) throws Exception {
+        for (String h : c.hashes) {
+            Optional<TransactionReceipt> r = web3j.ethGetTransactionReceipt(h).send().getTransactionReceipt();
+            if (r.isPresent()) {
+                txStore.recordReceipt(r.get());
+                c.minedHash = r.get().getTransactionHash();
+                c.minedBlock = block;
+                // 밀려난 해시는 영수증이 영영 없으므로 추적에서 제외
+                for (String other : c.hashes) if (!other.equalsIgnoreCase(c.minedHash)) txStore.forget(other);
+                return;
+            }
+        }
+        // nonce 는 소비됐는데 우리 해시 중엔 영수증이 없음: 프로바이더가 아직 영수증을 인덱싱하지 못했을 수 있어
+        // 몇 블록 더 재조회하고, 그래도 없으면 외부에서 같은 nonce 를 쓴 것으로 보고 감시 중단
+        if (c.receiptMissSince < 0) c.receiptMissSince = block;
+        if (block - c.receiptMissSince >= receiptRetryBlocks) forget(c);
+    }
+
+    /**
+     * gasPrice 를 max(기존 * (1 + bump%), 현재 eth_gasPrice) 로 올려 같은 nonce 로 재전송 (상한 초과 시 상한까지만).
+     * 상한으로 잘린 값이 노드의 최소 교체 인상폭에 못 미치면 어차피 underpriced 로 거절되므로 더 이상 올리지 않음.
+     */
+    private void bump(Chain c, long block) throws Exception {
+        BigInteger ceiling = BigInteger.valueOf(maxGasPriceGwei).multiply(BigInteger.TEN.pow(9));
+        BigInteger hundred = BigInteger.valueOf(100);
+        // 최소 교체 가격 = ceil(기존 * (100 + min%) / 100)
+        BigInteger minReplacement = c.gasPrice.multiply(BigInteger.valueOf(100 + minReplacementPercent))
+                .add(BigInteger.valueOf(99)).divide(hundred);
+        if (minReplacement.compareTo(ceiling) > 0) {
+            c.exhausted = true;
+            return;
+        }
+        BigInteger bumped = c.gasPrice.multiply(BigInteger.valueOf(100 + bumpPercent)).divide(hundred);
+        BigInteger market = web3j.ethGasPrice().send().getGasPrice();
+        BigInteger next = bumped.max(minReplacement).max(market != null ? market : BigInteger.ZERO).min(ceiling);
+
+        SignedTx o = c.original;
+        RawTransaction raw = RawTransaction.createTransaction(o.nonce(), next, o.gasLimit(), o.to(), BigInteger.ZERO, o.data());
+        String signed = txManager.sign(raw);
+        EthSendTransaction sent = RpcBudgetScheduler.callWithPriority(RpcPriority.WRITE,
+                () -> web3j.ethSendRawTransaction(signed).send());
+        c.sinceBlock = block;
+        if (sent.hasError()) return; // nonce too low 등은 다음 주기에 채굴로 판정됨
+        String hash = sent.getTransactionHash();
+        c.gasPrice = next;
+        c.hashes.add(hash);
+        byHash.put(key(hash), c);
+        txStore.trackSent(hash, c.label + " [replaced@" + next + "]");
+    }
+
+    private void forget(Chain c) {
+        byNonce.remove(c.original.nonce(), c);
+        for (String h : c.hashes) byHash.remove(key(h), c);
+    }
+
+    private static String key(String hash) {
+        return hash.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.cherrydapp.snapshot;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 토큰 보유자 잔액 스냅샷용 primitive 배열 저장소 (엔트리당 BigInteger/String 객체 없음).
+ *
+ * <ul>
+ *   <li>주소(20바이트): {@code addrHi}(8) + {@code addrMid}(8) + {@code addrLo}(4)</li>
+ *   <li>잔액(uint256): {@code bal} 에 엔트리당 long 4개, 상위 워드부터 (부호 없는 산술)</li>
+ *   <li>주소 → 인덱스: open addressing {@code int[]} 해시 테이블 (값 = 인덱스+1, 0 = 빈 슬롯)</li>
+ * </ul>
+ * 엔트리당 약 52바이트 (배열은 1.5배씩 늘어 최대 1.5배 여유분 포함 가능)
+ * + 해시 슬롯 약 5.3~10.7바이트 (load ≤ 0.75, 2배씩 확장). 동기화는 호출 측(HolderSnapshotService) 책임.
+ */
+public class HolderBalanceStore {
+
+    /** 조회 결과 (출력 시점에만 객체 생성) */
+    public record Holder(String address, BigInteger balance) {}
+
+    private static final BigInteger MASK64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    private long[] addrHi;
+    private long[] addrMid;
+    private int[] addrLo;
+    private long[] bal;
+    private int size;
+    private long underflows;
+
+    private int[] table;
+    private int mask;
+
+    public HolderBalanceStore(int expectedHolders) {
+        int cap = Math.max(16, expectedHolders);
+        addrHi = new long[cap];
+        addrMid = new long[cap];
+        addrLo = new int[cap];
+        bal = new long[cap * 4];
+        int slots = Integer.highestOneBit(Math.max(32, cap * 2 - 1)) << 1;
+        table = new int[slots];
+        mask = slots - 1;
+    }
+
+    /** 지금까지 등장한 주소 수 (잔액 0 포함) */
+    public int size() {
+        return size;
+    }
+
+    public int nonZeroCount() {
+        int n = 0;
+        for (int i = 0; i < size; i++) if (!isZero(i)) n++;
+        return n;
+    }
+
+    /**
+     * 잔액보다 큰 출금이 들어온 횟수 (해당 잔액은 0 으로 고정).
+     * 0 이 아니면 start-block 이 배포 블록보다 늦었거나 로그가 누락된 것이므로 스냅샷을 신뢰하면 안 됨.
+     */
+    public long underflowCount() {
+        return underflows;
+    }
+
+    /* -------------------- 갱신 -------------------- */
+
+    /** Transfer 한 건 반영. 0x0 주소(mint/burn)는 잔액을 추적하지 않음 */
+    public void applyTransfer(long fromHi, long fromMid, int fromLo, long toHi, long toMid, int toLo,
+                              long v0, long v1, long v2, long v3) {
+        if (fromHi != 0 || fromMid != 0 || fromLo != 0) {
+            sub(indexOrInsert(fromHi, fromMid, fromLo), v0, v1, v2, v3);
+        }
+        if (toHi != 0 || toMid != 0 || toLo != 0) {
+            add(indexOrInsert(toHi, toMid, toLo), v0, v1, v2, v3);
+        }
+    }
+
+    private void add(int i, long v0, long v1, long v2, long v3) {
+        int b = i * 4;
+        long r3 = bal[b + 3] + v3;
+        long c = Long.compareUnsigned(r3, v3) < 0 ? 1 : 0;
+        long r2 = bal[b + 2] + v2 + c;
+        c = (Long.compareUnsigned(r2, v2) < 0 || (c == 1 && r2 == v2)) ? 1 : 0;
+        long r1 = bal[b + 1] + v1 + c;
+        c = (Long.compareUnsigned(r1, v1) < 0 || (c == 1 && r1 == v1)) ? 1 : 0;
+        bal[b] = bal[b] + v0 + c;
+        bal[b + 1] = r1;
+        bal[b + 2] = r2;
+        bal[b + 3] = r3;
+    }
+
+    private void sub(int i, long v0, long v1, long v2, long v3) {
+        int b = i * 4;
+        long a3 = bal[b + 3], a2 = bal[b + 2], a1 = bal[b + 1];
+        long r3 = a3 - v3;
+        long br = Long.compareUnsigned(a3, v3) < 0 ? 1 : 0;
+        long r2 = a2 - v2 - br;
+        br = (Long.compareUnsigned(a2, v2) < 0 || (br == 1 && a2 == v2)) ? 1 : 0;
+        long r1 = a1 - v1 - br;
+        br = (Long.compareUnsigned(a1, v1) < 0 || (br == 1 && a1 == v1)) ? 1 : 0;
+        long a0 = bal[b];
+        if (Long.compareUnsigned(a0, v0) < 0 || (br == 1 && a0 == v0)) {
+            // 2^256 으로 감겨 거대한 잔액이 되지 않도록 0 으로 고정하고 기록
+            underflows++;
+            Arrays.fill(bal, b, b + 4, 0L);
+            return;
+        }
+        bal[b] = a0 - v0 - br;
+        bal[b + 1] = r1;
+        bal[b + 2] = r2;
+        bal[b + 3] = r3;
+    }
+
+    /* -------------------- 조회 -------------------- */
+
+    public BigInteger balanceOf(String address) {
+        long[] a = parseAddress(address);
+        int i = indexOf(a[0], a[1], (int) a[2]);
+        return i < 0 ? BigInteger.ZERO : balanceAt(i);
+    }
+
+    /** 잔액 상위 n명 (int 인덱스 min-heap, 내림차순 반환) */
+    public List<Holder> topN(int n) {
+        int k = Math.min(n, size);
+        if (k <= 0) return List.of();
+        int[] heap = new int[k];
+        int h = 0;
+        for (int i = 0; i < size; i++) {
+            if (isZero(i)) continue;
+            if (h < k) {
+                heap[h] = i;
+                siftUp(heap, h++);
+            } else if (compare(i, heap[0]) > 0) {
+                heap[0] = i;
+                siftDown(heap, 0, h);
+            }
+        }
+        int[] sorted = Arrays.copyOf(heap, h);
+        List<Holder> out = new ArrayList<>(h);
+        // 힙에서 최솟값을 차례로 꺼내 뒤에서부터 채움
+        for (int end = h; end > 0; end--) {
+            sorted[end - 1] = heap[0];
+            heap[0] = heap[end - 1];
+            siftDown(heap, 0, end - 1);
+        }
+        for (int i : sorted) out.add(new Holder(addressAt(i), balanceAt(i)));
+        return out;
+    }
+
+    /** 잔액 >= min 인 보유자 (최대 limit 건), 전체 개수는 {@link #countAtLeast} */
+    public List<Holder> atLeast(BigInteger min, int limit) {
+        long[] m = toWords(min);
+        List<Holder> out = new ArrayList<>();
+        for (int i = 0; i < size && out.size() < limit; i++) {
+            if (!isZero(i) && compareTo(i, m) >= 0) out.add(new Holder(addressAt(i), balanceAt(i)));
+        }
+        return out;
+    }
+
+    public int countAtLeast(BigInteger min) {
+        long[] m = toWords(min);
+        int n = 0;
+        for (int i = 0; i < size; i++) if (!isZero(i) && compareTo(i, m) >= 0) n++;
+        return n;
+    }
+
+    /** "address,balance" CSV (잔액 0 제외) */
+    public void exportCsv(Writer w) throws IOException {
+        w.write("address,balance\n");
+        for (int i = 0; i < size; i++) {
+            if (isZero(i)) continue;
+            w.write(addressAt(i));
+            w.write(',');
+            w.write(balanceAt(i).toString());
+            w.write('\n');
+        }
+    }
+
+    /* -------------------- 주소 인덱스 -------------------- */
+
+    private int indexOf(long hi, long mid, int lo) {
+        for (int s = slot(hi, mid, lo); ; s = (s + 1) & mask) {
+            int v = table[s];
+            if (v == 0) return -1;
+            int i = v - 1;
+            if (addrHi[i] == hi && addrMid[i] == mid && addrLo[i] == lo) return i;
+        }
+    }
+
+    private int indexOrInsert(long hi, long mid, int lo) {
+        int s = slot(hi, mid, lo);
+        for (; ; s = (s + 1) & mask) {
+            int v = table[s];
+            if (v == 0) break;
+            int i = v - 1;
+            if (addrHi[i] == hi && addrMid[i] == mid && addrLo[i] == lo) return i;
+        }
+        if (size == addrHi.length) growEntries();
+        int i = size++;
+        addrHi[i] = hi;
+        addrMid[i] = mid;
+        addrLo[i] = lo;
+        table[s] = i + 1;
+        if (size * 4L > table.length * 3L) rehash(); // load factor 0.75
+        return i;
+    }
+
+    private int slot(long hi, long mid, int lo) {
+        long x = hi * 0x9E3779B97F4A7C15L ^ mid * 0xC2B2AE3D27D4EB4FL ^ lo;
+        x ^= (x >>> 32);
+        return (int) x & mask;
+    }
+
+    private void growEntries() {
+        int cap = addrHi.length + (addrHi.length >> 1);
+        addrHi = Arrays.copyOf(addrHi, cap);
+        addrMid = Arrays.copyOf(addrMid, cap);
+        addrLo = Arrays.copyOf(addrLo, cap);
+        bal = Arrays.copyOf(bal, cap * 4);
+    }
+
+    private void rehash() {
+        table = new int[table.length << 1];
+        mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            int s = slot(addrHi[i], addrMid[i], addrLo[i]);
+            while (table[s] != 0) s = (s + 1) & mask;
+            table[s] = i + 1;
+        }
+    }
+
+    /* -------------------- 256비트 비교/변환 -------------------- */
+
+    private boolean isZero(int i) {
+        int b = i * 4;
+        return (bal[b] | bal[b + 1] | bal[b + 2] | bal[b + 3]) == 0;
+    }
+
+    private int compare(int i, int j) {
+        for (int w = 0; w < 4; w++) {
+            int c = Long.compareUnsigned(bal[i * 4 + w], bal[j * 4 + w]);
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    private int compareTo(int i, long[] words) {
+        for (int w = 0; w < 4; w++) {
+            int c = Long.compareUnsigned(bal[i * 4 + w], words[w]);
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    private void siftUp(int[] heap, int k) {
+        while (k > 0) {
+            int p = (k - 1) >>> 1;
+            if (compare(heap[k], heap[p]) >= 0) break;
+            int t = heap[k]; heap[k] = heap[p]; heap[p] = t;
+            k = p;
+        }
+    }
+
+    private void siftDown(int[] heap, int k, int n) {
+        while (true) {
+            int l = 2 * k + 1, r = l + 1, m = k;
+            if (l < n && compare(heap[l], heap[m]) < 0) m = l;
+            if (r < n && compare(heap[r], heap[m]) < 0) m = r;
+            if (m == k) return;
+            int t = heap[k]; heap[k] = heap[m]; heap[m] = t;
+            k = m;
+        }
+    }
+
+    private BigInteger balanceAt(int i) {
+        BigInteger v = BigInteger.ZERO;
+        for (int w = 0; w < 4; w++) {
+            v = v.shiftLeft(64).or(new BigInteger(Long.toUnsignedString(bal[i * 4 + w])));
+        }
+        return v;
+    }
+
+    private String addressAt(int i) {
+        return String.format("0x%016x%016x%08x", addrHi[i], addrMid[i], addrLo[i]);
+    }
+
+    private static long[] toWords(BigInteger v) {
+        long[] w = new long[4];
+        for (int k = 3; k >= 0; k--) {
+            w[k] = v.and(MASK64).longValue();
+            v = v.shiftRight(64);
+        }
+        return w;
+    }
+
+    /** 0x 접두사 포함/미포함 40자리 hex → {hi, mid, lo} */
+    public static long[] parseAddress(String address) {
+        String hex = address.startsWith("0x") || address.startsWith("0X") ? address.substring(2) : address;
+        hex = "0".repeat(Math.max(0, 40 - hex.length())) + hex.substring(Math.max(0, hex.length() - 40));
+        return new long[]{
+                Long.parseUnsignedLong(hex, 0, 16, 16),
+                Long.parseUnsignedLong(hex, 16, 32, 16),
+                Long.parseUnsignedLong(hex, 32, 40, 16)
+        };
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.cherrydapp.snapshot;
+
+import com.example.cherrydapp.rpc.RpcBudgetScheduler;
+import com.example.cherrydapp.rpc.RpcPriority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cherry 토큰(cherry.token.address) 보유자 잔액 스냅샷.
+ * Transfer 로그를 블록 구간 단위로 읽어 {@link HolderBalanceStore} 에 누적 (per-address balanceOf 호출 없음).
+ * 라이브 스냅샷은 finality 깊이만큼 뒤처져 새 블록을 증분 반영하고,
+ * 그보다 과거 블록을 요청하면 별도 스냅샷을 새로 만든다 (최근 몇 개는 캐시, 동시 재구성 수 제한).
+ * 조회는 {@link #query} 로 스냅샷 해석과 읽기를 한 락 구간에 묶어, 응답이 두 블록에 걸치지 않게 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class HolderSnapshotService {
+
+    private static final String TRANSFER_TOPIC = Hash.sha3String("Transfer(address,address,uint256)");
+
+    private final Web3j web3j;
+
+    @Value("${cherry.token.address:}")
+    private String cherryToken;
+
+    // 토큰 배포 블록 (이전 구간은 스캔하지 않음)
+    @Value("${cherry.snapshot.start-block:0}")
+    private long startBlock;
+
+    // eth_getLogs 한 번에 조회할 블록 수 (프로바이더 제한에 맞춤)
+    @Value("${cherry.snapshot.log-chunk:2000}")
+    private long logChunk;
+
+    @Value("${cherry.snapshot.confirmations:12}")
+    private long confirmations;
+
+    @Value("${cherry.snapshot.expected-holders:1024}")
+    private int expectedHolders;
+
+    @Value("${cherry.snapshot.follow:false}")
+    private boolean follow;
+
+    // 최근 과거 블록 스냅샷 보관 수 (같은 블록 재요청 시 재스캔 없음)
+    @Value("${cherry.snapshot.past-cache-size:4}")
+    private int pastCacheSize;
+
+    // 동시에 재구성할 수 있는 과거 스냅샷 수 (start-block 부터 전체 재스캔이라 요청 스레드를 오래 점유)
+    @Value("${cherry.snapshot.max-concurrent-past:1}")
+    private int maxConcurrentPast;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private HolderBalanceStore live;
+    private long liveBlock = -1;
+
+    private final AtomicInteger pastBuilds = new AtomicInteger();
+    private final Map<Long, Snapshot> pastCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Snapshot> eldest) {
+            return size() > pastCacheSize;
+        }
+    };
+
+    /** 스냅샷 한 건 (읽기 전용 사용) */
+    public record Snapshot(String token, long block, HolderBalanceStore store) {}
+
+    /* -------------------- 동기화 -------------------- */
+
+    /** 라이브 스냅샷을 latest - confirmations 까지 증분 반영 (follow=true 일 때 새 블록마다) */
+    @Scheduled(fixedDelayString = "${cherry.snapshot.follow-ms:12000}")
+    public void followLatest() {
+        if (!follow || cherryToken == null || cherryToken.isBlank()) return;
+        RpcBudgetScheduler.runWithPriority(RpcPriority.BACKGROUND, () -> {
+            try {
+                syncLive(safeHead());
+            } catch (Exception ignore) { /* 다음 주기에 재시도 */ }
+        });
+    }
+
+    /**
+     * 해당 블록 기준 스냅샷. 라이브보다 앞이면 라이브를 전진, 뒤면 새로 구성.
+     * safe head(latest - confirmations) 를 넘는 블록은 reorg 로 뒤집힐 수 있어 거부.
+     */
+    public Snapshot snapshotAt(long block) throws Exception {
+        String token = requireToken();
+        boolean ahead;
+        lock.readLock().lock();
+        try {
+            if (live != null && liveBlock == block) return new Snapshot(token, liveBlock, live);
+            ahead = live == null || block > liveBlock;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ahead) {
+            long head = safeHead();
+            if (block > head) {
+                throw new IllegalArgumentException("block " + block + " is beyond safe head " + head
+                        + " (latest - " + confirmations + " confirmations)");
+            }
+            return syncLive(block);
+        }
+        return past(token, block);
+    }
+
+    /** 과거 블록 스냅샷: 캐시에 있으면 재사용, 없으면 동시 재구성 수 제한 안에서 새로 스캔 */
+    private Snapshot past(String token, long block) throws Exception {
+        synchronized (pastCache) {
+            Snapshot cached = pastCache.get(block);
+            if (cached != null) return cached;
+        }
+        if (pastBuilds.incrementAndGet() > maxConcurrentPast) {
+            pastBuilds.decrementAndGet();
+            throw new IllegalStateException("too many past snapshot rebuilds in progress (max "
+                    + maxConcurrentPast + "), retry later");
+        }
+        try {
+            HolderBalanceStore past = new HolderBalanceStore(expectedHolders);
+            foldLogs(token, past, startBlock, block);
+            Snapshot s = new Snapshot(token, block, past);
+            synchronized (pastCache) {
+                pastCache.put(block, s);
+            }
+            return s;
+        } finally {
+            pastBuilds.decrementAndGet();
+        }
+    }
+
+    /** 라이브 스냅샷 (없으면 safe head 까지 구성) */
+    public Snapshot latest() throws Exception {
+        String token = requireToken();
+        lock.readLock().lock();
+        try {
+            if (live != null) return new Snapshot(token, liveBlock, live);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return syncLive(safeHead());
+    }
+
+    /** 라이브를 target 까지 전진시키고, 같은 쓰기 락 안에서 읽은 라이브 스냅샷을 반환 */
+    private Snapshot syncLive(long target) throws Exception {
+        String token = requireToken();
+        lock.writeLock().lock();
+        try {
+            if (live == null) {
+                live = new HolderBalanceStore(expectedHolders);
+                liveBlock = startBlock - 1;
+            }
+            // 구간마다 liveBlock 을 전진시켜, 중간 실패 후 재시도해도 같은 로그를 두 번 반영하지 않음
+            while (liveBlock < target) {
+                long hi = Math.min(target, liveBlock + logChunk);
+                foldLogs(token, live, liveBlock + 1, hi);
+                liveBlock = hi;
+            }
+            return new Snapshot(token, liveBlock, live);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void foldLogs(String token, HolderBalanceStore store, long from, long to) throws Exception {
+        for (long lo = from; lo <= to; lo += logChunk) {
+            long hi = Math.min(to, lo + logChunk - 1);
+            EthFilter filter = new EthFilter(
+                    new DefaultBlockParameterNumber(lo), new DefaultBlockParameterNumber(hi), token);
+            filter.addSingleTopic(TRANSFER_TOPIC);
+            EthLog resp = web3j.ethGetLogs(filter).send();
+            if (resp.hasError()) throw new RuntimeException(resp.getError().getMessage());
+            for (EthLog.LogResult r : resp.getLogs()) {
+                if (r.get() instanceof Log log) apply(store, log);
+            }
+        }
+    }
+
+    /** topic/data hex 를 바로 long 으로 파싱 (BigInteger 생성 없음) */
+    private static void apply(HolderBalanceStore store, Log log) {
+        List<String> topics = log.getTopics();
+        if (topics == null || topics.size() != 3) return; // ERC-721 Transfer(topic 4개) 등 제외
+        String from = topics.get(1), to = topics.get(2), data = log.getData();
+        int f = from.length() - 40, t = to.length() - 40, d = data.length() - 64;
+        if (f < 0 || t < 0 || d < 0) return;
+        store.applyTransfer(
+                Long.parseUnsignedLong(from, f, f + 16, 16),
+                Long.parseUnsignedLong(from, f + 16, f + 32, 16),
+                (int) Long.parseUnsignedLong(from, f + 32, f + 40, 16),
+                Long.parseUnsignedLong(to, t, t + 16, 16),
+                Long.parseUnsignedLong(to, t + 16, t + 32, 16),
+                (int) Long.parseUnsignedLong(to, t + 32, t + 40, 16),
+                Long.parseUnsignedLong(data, d, d + 16, 16),
+                Long.parseUnsignedLong(data, d + 16, d + 32, 16),
+                Long.parseUnsignedLong(data, d + 32, d + 48, 16),
+                Long.parseUnsignedLong(data, d + 48, d + 64, 16));
+    }
+
+    private long safeHead() throws Exception {
+        BigInteger head = web3j.ethBlockNumber().send().getBlockNumber();
+        return head.longValue() - confirmations;
+    }
+
+    private String requireToken() {
+        if (cherryToken == null || cherryToken.isBlank()) {
+            throw new IllegalStateException("cherry.token.address (CHERRY_TOKEN) is not configured");
+        }
+        return cherryToken;
+    }
+
+    /* -------------------- 조회 (읽기 락) -------------------- */
+
+    /** 스냅샷 하나에 대해 여러 조회를 묶어 실행 (한 응답 안의 값이 모두 같은 블록 기준이 되도록) */
+    @FunctionalInterface
+    public interface SnapshotQuery<T> {
+        T apply(Snapshot s) throws IOException;
+    }
+
+    /**
+     * block 기준 스냅샷을 잡고, 한 번의 읽기 락 안에서 body 를 실행 (block 이 null 이면 라이브).
+     * 락을 잡기 전에 라이브가 전진했다면: block 미지정은 현재 라이브로 대체,
+     * 지정 블록은 다시 해석해 과거 스냅샷으로 조회.
+     */
+    public <T> T query(Long block, SnapshotQuery<T> body) throws Exception {
+        while (true) {
+            Snapshot s = (block == null) ? latest() : snapshotAt(block);
+            lock.readLock().lock();
+            try {
+                if (s.store() == live && s.block() != liveBlock) {
+                    if (block != null) continue;
+                    s = new Snapshot(s.token(), liveBlock, live);
+                }
+                return body.apply(s);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.cherrydapp.rpc;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RpcBudgetSchedulerTest {
+
+    private static final long LONG_WAIT_MS = 10_000;
+
+    @Test
+    void higherLaneIsServedFirstEvenIfItQueuedLater() throws Exception {
+        // 10 CU 충전에 200ms
+        RpcBudgetScheduler s = new RpcBudgetScheduler(50, 10, 0, 8, LONG_WAIT_MS, LONG_WAIT_MS, LONG_WAIT_MS, LONG_WAIT_MS);
+        s.acquire(RpcPriority.INTERACTIVE, 10); // 버킷 비움
+
+        List<RpcPriority> order = new CopyOnWriteArrayList<>();
+        Thread background = acquirer(s, RpcPriority.BACKGROUND, 10, order, null);
+        awaitQueued(s, RpcPriority.BACKGROUND, 1);
+        Thread write = acquirer(s, RpcPriority.WRITE, 10, order, null);
+        awaitQueued(s, RpcPriority.WRITE, 1);
+
+        write.join(5_000);
+        background.join(5_000);
+        assertEquals(List.of(RpcPriority.WRITE, RpcPriority.BACKGROUND), order);
+    }
+
+    @Test
+    void backgroundLeavesReserveFloorForHigherLanes() throws Exception {
+        // burst 100, reserve 50% → BACKGROUND 는 잔량 50 아래로 내려가지 못함 (충전은 사실상 없음)
+        RpcBudgetScheduler s = new RpcBudgetScheduler(0.001, 100, 0.5, 8, LONG_WAIT_MS, LONG_WAIT_MS, 100, LONG_WAIT_MS);
+
+        s.acquire(RpcPriority.BACKGROUND, 40); // 100 → 60
+        RpcBudgetExceededException e = assertThrows(RpcBudgetExceededException.class,
+                () -> s.acquire(RpcPriority.BACKGROUND, 20)); // 60 - 20 < 50
+        assertEquals(RpcPriority.BACKGROUND, e.getPriority());
+
+        s.acquire(RpcPriority.INTERACTIVE, 60); // 상위 레인은 예약분까지 사용
+        assertTrue(s.stats().tokens() < 1);
+        assertEquals(1, lane(s, RpcPriority.BACKGROUND).shed());
+    }
+
+    @Test
+    void backgroundIsShedWhenItsQueueIsFull() throws Exception {
+        RpcBudgetScheduler s = new RpcBudgetScheduler(0.001, 10, 0, 1, LONG_WAIT_MS, LONG_WAIT_MS, LONG_WAIT_MS, LONG_WAIT_MS);
+        s.acquire(RpcPriority.INTERACTIVE, 10);
+
+        AtomicReference<Throwable> waiterError = new AtomicReference<>();
+        Thread waiter = acquirer(s, RpcPriority.BACKGROUND, 10, null, waiterError);
+        awaitQueued(s, RpcPriority.BACKGROUND, 1);
+
+        long start = System.nanoTime();
+        RpcBudgetExceededException e = assertThrows(RpcBudgetExceededException.class,
+                () -> s.acquire(RpcPriority.BACKGROUND, 1));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000, "shed must not wait");
+        assertTrue(e.getMessage().contains("queue full"));
+        assertEquals(1, lane(s, RpcPriority.BACKGROUND).shed());
+
+        waiter.interrupt();
+        waiter.join(5_000);
+        assertInstanceOf(InterruptedIOException.class, waiterError.get());
+        assertEquals(0, lane(s, RpcPriority.BACKGROUND).queued());
+    }
+
+    @Test
+    void requestIsRejectedAfterItsLaneMaxWait() throws Exception {
+        RpcBudgetScheduler s = new RpcBudgetScheduler(0.001, 10, 0, 8, LONG_WAIT_MS, 150, LONG_WAIT_MS, LONG_WAIT_MS);
+        s.acquire(RpcPriority.INTERACTIVE, 10);
+
+        long start = System.nanoTime();
+        assertThrows(RpcBudgetExceededException.class, () -> s.acquire(RpcPriority.INTERACTIVE, 5));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waitedMs >= 140 && waitedMs < 2_000, "waited " + waitedMs + "ms");
+
+        RpcBudgetScheduler.LaneStats st = lane(s, RpcPriority.INTERACTIVE);
+        assertEquals(1, st.granted());
+        assertEquals(1, st.shed());
+        assertEquals(0, st.queued());
+    }
+
+    @Test
+    void bulkKeepsReserveFloorAndWaitsInsteadOfBeingShed() throws Exception {
+        // burst 100, reserve 50%, BACKGROUND 큐 한도 1 → BULK 는 큐 한도와 무관, 대기 한도 150ms
+        RpcBudgetScheduler s = new RpcBudgetScheduler(0.001, 100, 0.5, 1, LONG_WAIT_MS, LONG_WAIT_MS, LONG_WAIT_MS, 150);
+
+        s.acquire(RpcPriority.BULK, 40); // 100 → 60
+        long start = System.nanoTime();
+        RpcBudgetExceededException e = assertThrows(RpcBudgetExceededException.class,
+                () -> s.acquire(RpcPriority.BULK, 20)); // 60 - 20 < 50, 큐가 아니라 대기 한도로 거부
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals(RpcPriority.BULK, e.getPriority());
+        assertTrue(waitedMs >= 140, "waited " + waitedMs + "ms");
+
+        s.acquire(RpcPriority.INTERACTIVE, 60);
+        RpcBudgetScheduler.LaneStats bulk = lane(s, RpcPriority.BULK);
+        assertEquals(1, bulk.granted());
+        assertEquals(1, bulk.shed());
+        assertEquals(0, lane(s, RpcPriority.BACKGROUND).shed());
+    }
+
+    @Test
+    void throttledDrainsBucketSoNextCallWaitsForRefill() throws Exception {
+        RpcBudgetScheduler s = new RpcBudgetScheduler(100, 100, 0, 8, LONG_WAIT_MS, LONG_WAIT_MS, LONG_WAIT_MS, LONG_WAIT_MS);
+        assertTrue(s.stats().tokens() > 99);
+
+        s.onThrottled();
+        RpcBudgetScheduler.Stats st = s.stats();
+        assertEquals(1, st.throttled());
+        assertTrue(st.tokens() < 5, "tokens " + st.tokens());
+
+        long start = System.nanoTime();
+        s.acquire(RpcPriority.WRITE, 30); // 100 CU/s → 약 300ms
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waitedMs >= 200, "waited " + waitedMs + "ms");
+    }
+
+    @Test
+    void priorityContextIsRestoredAfterNesting() throws Exception {
+        assertEquals(RpcPriority.INTERACTIVE, RpcBudgetScheduler.currentPriority());
+        RpcBudgetScheduler.runWithPriority(RpcPriority.BACKGROUND, () -> {
+            assertEquals(RpcPriority.BACKGROUND, RpcBudgetScheduler.currentPriority());
+            try {
+                RpcPriority inner = RpcBudgetScheduler.callWithPriority(RpcPriority.WRITE, RpcBudgetScheduler::currentPriority);
+                assertEquals(RpcPriority.WRITE, inner);
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+            assertEquals(RpcPriority.BACKGROUND, RpcBudgetScheduler.currentPriority());
+        });
+        assertEquals(RpcPriority.INTERACTIVE, RpcBudgetScheduler.currentPriority());
+    }
+
+    /* ---- 헬퍼 ---- */
+
+    private static Thread acquirer(RpcBudgetScheduler s, RpcPriority p, int cost,
+                                   List<RpcPriority> order, AtomicReference<Throwable> error) {
+        Thread t = new Thread(() -> {
+            try {
+                s.acquire(p, cost);
+                if (order != null) order.add(p);
+            } catch (IOException e) {
+                if (error != null) error.set(e);
+            }
+        }, "acquire-" + p);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    private static void awaitQueued(RpcBudgetScheduler s, RpcPriority p, int n) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lane(s, p).queued() < n) {
+            if (System.nanoTime() > deadline) throw new AssertionError(p + " never queued " + n);
+            Thread.sleep(1);
+        }
+    }
+
+    private static RpcBudgetScheduler.LaneStats lane(RpcBudgetScheduler s, RpcPriority p) {
+        return s.stats().lanes().stream().filter(l -> l.lane() == p).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.cherrydapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TxStatusStoreTest {
+
+    private static final String TOKEN = "0x1111111111111111111111111111111111111111";
+    private static final String T31 = "0x2222222222222222222222222222222222222222";
+    private static final String ALICE = "0xaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String BOB = "0xbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void persistedReceiptReadsBackLikeTheTrackedOne() throws Exception {
+        Path file = dir.resolve("receipts.bin");
+        TransactionReceipt r = receipt(1, true,
+                log(TOKEN, List.of(Hash.sha3String("Transfer(address,address,uint256)"), topic(ALICE), topic(BOB)), word(1234)),
+                log(T31, List.of(Hash.sha3String("RoundStarted(uint256)")), word(7)),           // from/to 없음
+                log(T31, List.of(Hash.sha3String("Submitted(address,uint256)"), topic(ALICE)), "0x")); // to/value 없음
+
+        TxStatusStore store = store(file);
+        TxStatusStore.TxStatus tracking = store.toStatus(r, "submit(7)", "tracking");
+        store.persistFinal(r, "submit(7)");
+
+        TxStatusStore.TxStatus fromDisk = store(file).findFinal(r.getTransactionHash());
+        assertNotNull(fromDisk);
+        assertEquals("store", fromDisk.source());
+        assertEquals(tracking.hash(), fromDisk.hash());
+        assertEquals(tracking.status(), fromDisk.status());
+        assertEquals(tracking.blockNumber(), fromDisk.blockNumber());
+        assertEquals(tracking.gasUsed(), fromDisk.gasUsed());
+        assertEquals(tracking.label(), fromDisk.label());
+        assertEquals(tracking.effects(), fromDisk.effects());
+        assertNull(fromDisk.effects().get(1).from());
+        assertNull(fromDisk.effects().get(1).to());
+        assertNull(fromDisk.effects().get(2).to());
+        assertNull(fromDisk.effects().get(2).value());
+    }
+
+    @Test
+    void truncatedTailIsDroppedAndOverwritten() throws Exception {
+        Path file = dir.resolve("receipts.bin");
+        TransactionReceipt a = receipt(1, true), b = receipt(2, false), c = receipt(3, true);
+
+        TxStatusStore first = store(file);
+        first.persistFinal(a, "a");
+        first.persistFinal(b, null);
+
+        // 비정상 종료로 마지막 레코드가 일부만 기록된 상태
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 5);
+        }
+
+        TxStatusStore reopened = store(file);
+        assertEquals("a", reopened.findFinal(a.getTransactionHash()).label());
+        assertNull(reopened.findFinal(b.getTransactionHash()));
+        reopened.persistFinal(c, "c");
+
+        TxStatusStore third = store(file);
+        assertEquals("success", third.findFinal(a.getTransactionHash()).status());
+        assertNull(third.findFinal(b.getTransactionHash()));
+        TxStatusStore.TxStatus cs = third.findFinal(c.getTransactionHash());
+        assertEquals("c", cs.label());
+        assertEquals(3L, cs.blockNumber().longValue());
+    }
+
+    /* ---- 헬퍼 ---- */
+
+    private static TxStatusStore store(Path file) {
+        TxStatusStore s = new TxStatusStore();
+        ReflectionTestUtils.setField(s, "path", file.toString());
+        ReflectionTestUtils.setField(s, "hotCapacity", 16);
+        ReflectionTestUtils.setField(s, "finalityBlocks", 12L);
+        ReflectionTestUtils.setField(s, "t31Contract", T31);
+        return s;
+    }
+
+    private static TransactionReceipt receipt(int n, boolean ok, Log... logs) {
+        TransactionReceipt r = new TransactionReceipt();
+        r.setTransactionHash(String.format("0x%064x", n));
+        r.setStatus(ok ? "0x1" : "0x0");
+        r.setBlockNumber("0x" + Integer.toHexString(n));
+        r.setGasUsed("0x5208");
+        r.setLogs(List.of(logs));
+        return r;
+    }
+
+    private static Log log(String address, List<String> topics, String data) {
+        Log l = new Log();
+        l.setAddress(address);
+        l.setTopics(topics);
+        l.setData(data);
+        return l;
+    }
+
+    private static String topic(String address) {
+        return "0x" + "0".repeat(24) + address.substring(2);
+    }
+
+    private static String word(long v) {
+        return String.format("0x%064x", v);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.cherrydapp.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HolderBalanceStoreTest {
+
+    private static final String ZERO = "0x0000000000000000000000000000000000000000";
+    private static final BigInteger MASK64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+    private static final BigInteger TWO_256 = BigInteger.ONE.shiftLeft(256);
+
+    @Test
+    void addCarriesAcrossWords() {
+        HolderBalanceStore store = new HolderBalanceStore(16);
+        String a = address(1);
+        BigInteger lowMax = MASK64;                               // 하위 워드 꽉 참
+        BigInteger twoWordsMax = BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE);
+
+        transfer(store, ZERO, a, lowMax);
+        transfer(store, ZERO, a, BigInteger.ONE);
+        assertEquals(BigInteger.ONE.shiftLeft(64), store.balanceOf(a));
+
+        HolderBalanceStore chain = new HolderBalanceStore(16);
+        transfer(chain, ZERO, a, twoWordsMax);
+        transfer(chain, ZERO, a, BigInteger.ONE);                 // 두 워드 연쇄 carry
+        assertEquals(BigInteger.ONE.shiftLeft(128), chain.balanceOf(a));
+
+        HolderBalanceStore top = new HolderBalanceStore(16);
+        BigInteger big = TWO_256.subtract(BigInteger.TWO);
+        transfer(top, ZERO, a, big);
+        transfer(top, ZERO, a, BigInteger.ONE);
+        assertEquals(TWO_256.subtract(BigInteger.ONE), top.balanceOf(a));
+    }
+
+    @Test
+    void subBorrowsAcrossWords() {
+        HolderBalanceStore store = new HolderBalanceStore(16);
+        String a = address(1), b = address(2);
+        BigInteger start = BigInteger.ONE.shiftLeft(192);         // 최상위 워드만 1
+
+        transfer(store, ZERO, a, start);
+        transfer(store, a, b, BigInteger.ONE);                    // 세 워드에 걸친 borrow
+        assertEquals(start.subtract(BigInteger.ONE), store.balanceOf(a));
+        assertEquals(BigInteger.ONE, store.balanceOf(b));
+
+        transfer(store, a, b, start.subtract(BigInteger.ONE));
+        assertEquals(BigInteger.ZERO, store.balanceOf(a));
+        assertEquals(start, store.balanceOf(b));
+        assertEquals(0, store.underflowCount());
+        assertEquals(1, store.nonZeroCount());
+    }
+
+    @Test
+    void subUnderflowClampsToZeroAndIsCounted() {
+        HolderBalanceStore store = new HolderBalanceStore(16);
+        String a = address(1), b = address(2);
+
+        transfer(store, ZERO, a, BigInteger.TEN);
+        transfer(store, a, b, BigInteger.valueOf(11));
+        assertEquals(BigInteger.ZERO, store.balanceOf(a));
+        assertEquals(1, store.underflowCount());
+
+        // 하위 워드는 충분하지만 상위 워드에서 부족한 경우
+        transfer(store, ZERO, a, MASK64);
+        transfer(store, a, b, BigInteger.ONE.shiftLeft(64));
+        assertEquals(BigInteger.ZERO, store.balanceOf(a));
+        assertEquals(2, store.underflowCount());
+    }
+
+    @Test
+    void rehashKeepsEveryAddress() {
+        HolderBalanceStore store = new HolderBalanceStore(16); // 초기 슬롯 수보다 훨씬 많이 삽입
+        int n = 5_000;
+        for (int i = 1; i <= n; i++) {
+            transfer(store, ZERO, address(i), BigInteger.valueOf(i));
+        }
+        assertEquals(n, store.size());
+        for (int i = 1; i <= n; i++) {
+            assertEquals(BigInteger.valueOf(i), store.balanceOf(address(i)));
+        }
+        assertEquals(BigInteger.ZERO, store.balanceOf(address(n + 1)));
+    }
+
+    @Test
+    void topNMatchesBruteForce() {
+        HolderBalanceStore store = new HolderBalanceStore(16);
+        Map<String, BigInteger> expected = new HashMap<>();
+        Random rnd = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            String to = address(1 + rnd.nextInt(300));
+            BigInteger v = new BigInteger(1 + rnd.nextInt(200), rnd);
+            transfer(store, ZERO, to, v);
+            expected.merge(to, v, BigInteger::add);
+        }
+        // 일부는 전액 이동해 잔액 0 (topN 에서 제외되어야 함)
+        for (int i = 1; i <= 20; i++) {
+            String from = address(i);
+            BigInteger all = expected.getOrDefault(from, BigInteger.ZERO);
+            if (all.signum() == 0) continue;
+            transfer(store, from, address(1000), all);
+            expected.put(from, BigInteger.ZERO);
+            expected.merge(address(1000), all, BigInteger::add);
+        }
+
+        List<BigInteger> sorted = new ArrayList<>();
+        for (BigInteger v : expected.values()) if (v.signum() > 0) sorted.add(v);
+        sorted.sort(Comparator.reverseOrder());
+
+        for (int n : new int[]{1, 10, 50, sorted.size(), sorted.size() + 10}) {
+            List<HolderBalanceStore.Holder> top = store.topN(n);
+            assertEquals(Math.min(n, sorted.size()), top.size());
+            for (int i = 0; i < top.size(); i++) {
+                assertEquals(sorted.get(i), top.get(i).balance());
+                assertEquals(expected.get(top.get(i).address()), top.get(i).balance());
+            }
+        }
+    }
+
+    /* ---- 헬퍼 ---- */
+
+    private static String address(int i) {
+        // 상위/중간/하위 필드가 모두 달라지도록 섞은 주소
+        long x = i * 0x9E3779B97F4A7C15L;
+        return String.format("0x%016x%016x%08x", x, ~x, i);
+    }
+
+    private static void transfer(HolderBalanceStore store, String from, String to, BigInteger value) {
+        long[] f = HolderBalanceStore.parseAddress(from);
+        long[] t = HolderBalanceStore.parseAddress(to);
+        long[] w = new long[4];
+        for (int k = 3; k >= 0; k--) {
+            w[k] = value.and(MASK64).longValue();
+            value = value.shiftRight(64);
+        }
+        store.applyTransfer(f[0], f[1], (int) f[2], t[0], t[1], (int) t[2], w[0], w[1], w[2], w[3]);
+    }
+}